@@ -1,42 +1,203 @@
 package org.hrprocessor;
 
 
-import org.hrprocessor.model.Absence;
-import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.model.BatchFileSummary;
 import org.hrprocessor.model.Employee;
 import org.hrprocessor.service.AbsenceProcessorService;
-import org.hrprocessor.service.ExcelReaderService;
+import org.hrprocessor.service.BatchProcessingService;
+import org.hrprocessor.service.ColumnLayout;
+import org.hrprocessor.service.CsvWriterService;
+import org.hrprocessor.service.EmployeeIndex;
 import org.hrprocessor.service.ExcelWriterService;
+import org.hrprocessor.service.StreamingExcelReaderService;
 
-import java.time.LocalDate;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Headless batch entry point; runs without a Spring context. Also reachable from the packaged jar through
+ * {@code java -jar hr-absence-processor.jar cli ...}.
+ */
 public class HRProcessorApp {
 
-    public static void main(String[] args) {
-
-        ExcelReaderService excelReader = new ExcelReaderService();
-        AbsenceProcessorService processor = new AbsenceProcessorService();
-        ExcelWriterService excelWriter = new ExcelWriterService();
+    static final int EXIT_OK = 0;
+    static final int EXIT_FAILED = 1;
+    static final int EXIT_USAGE = 2;
 
+    private static final String USAGE = "Usage: HRProcessorApp --input <absences.xlsx>[,<absences.xlsx>...] [--input ...]\n"
+            + "                      [--employees <employees.xlsx>] [--output <file>] [--format excel|csv] [--threads <n>]\n"
+            + "                      [--sheets *|<sheet>[,<sheet>...]]\n"
+            + "                      [--column-aliases <sheet>.<field>=<name>[|<name>...][;...]]";
 
-        try {
-            String employeesFile = "data/input/HR_RO_SMARTDISPO_WS.xlsx";
-            String absencesFile = "data/input/Lista absente HR Central.xlsx";
-            String outputFile = "data/output/HR_RO_SMARTDISPO_ABSENCE.xlsx";
+    public static void main(String[] args) {
+        if (System.getProperty("logback.configurationFile") == null) {
+            System.setProperty("logback.configurationFile", "logback-cli.xml");
+        }
+        System.exit(run(args, System.out, System.err));
+    }
 
-            List<Employee> employees = excelReader.readEmployees(employeesFile);
-            List<Absence> absences = excelReader.readAbsences(absencesFile);
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        List<Path> inputs = new ArrayList<>();
+        Path employeesFile = Paths.get("data", "input", "HR_RO_SMARTDISPO_WS.xlsx");
+        Path outputFile = null;
+        String format = "excel";
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<String> sheets = null;
 
-            List<AbsenceResult> results = processor.processAbsences(absences, employees);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("--help".equals(arg) || "-h".equals(arg)) {
+                    out.println(USAGE);
+                    return EXIT_OK;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--input":
+                        for (String input : value.split(",")) {
+                            if (!input.isBlank()) {
+                                inputs.add(Paths.get(input.trim()));
+                            }
+                        }
+                        break;
+                    case "--employees":
+                        employeesFile = Paths.get(value);
+                        break;
+                    case "--output":
+                        outputFile = Paths.get(value);
+                        break;
+                    case "--format":
+                        if (!"excel".equals(value) && !"csv".equals(value)) {
+                            throw new IllegalArgumentException("Unknown format: " + value);
+                        }
+                        format = value;
+                        break;
+                    case "--sheets":
+                        sheets = new ArrayList<>();
+                        for (String sheet : value.split(",")) {
+                            if (!sheet.isBlank()) {
+                                sheets.add(sheet.trim());
+                            }
+                        }
+                        break;
+                    case "--column-aliases":
+                        ColumnLayout.configureAliases(value);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        if (threads < 1) {
+                            throw new IllegalArgumentException("Thread count must be positive");
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown argument: " + arg);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
 
-            excelWriter.writeAbsenceResults(results, outputFile);
+        if (inputs.isEmpty()) {
+            inputs.add(Paths.get("data", "input", "Lista absente HR Central.xlsx"));
+        }
+        if (outputFile == null) {
+            outputFile = Paths.get("data", "output", "HR_RO_SMARTDISPO_ABSENCE" + ("csv".equals(format) ? ".csv" : ".xlsx"));
+        }
 
+        try {
+            return process(inputs, sheets, employeesFile, outputFile, format, threads, out, err);
         } catch (Exception e) {
-            System.err.println("Error during processing: " + e.getMessage());
-            e.printStackTrace();
+            err.println("Error during processing: " + e.getMessage());
+            return EXIT_FAILED;
         }
     }
 
+    private static int process(List<Path> inputs, List<String> sheets, Path employeesFile, Path outputFile, String format,
+                               int threads, PrintStream out, PrintStream err) throws Exception {
+        for (Path input : inputs) {
+            if (!Files.isRegularFile(input)) {
+                throw new IllegalArgumentException("Absence file not found: " + input);
+            }
+        }
+        if (!Files.isRegularFile(employeesFile)) {
+            throw new IllegalArgumentException("Employees file not found: " + employeesFile);
+        }
+
+        // As in the server, sheets get their own pool because each file waits on its sheets from a file thread;
+        // with a single input all of --threads goes to the sheets.
+        ExecutorService sheetExecutor = Executors.newFixedThreadPool(threads);
+        StreamingExcelReaderService reader = new StreamingExcelReaderService(sheetExecutor);
+        AbsenceProcessorService processor = new AbsenceProcessorService();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, inputs.size())));
+
+        try {
+            long start = System.nanoTime();
+            List<Employee> employees = reader.readEmployees(employeesFile.toString());
+            EmployeeIndex employeeIndex = processor.createEmployeeIndex(employees);
+            long employeesDone = System.nanoTime();
 
+            List<BatchProcessingService.BatchInput> batchInputs = new ArrayList<>();
+            for (Path input : inputs) {
+                batchInputs.add(new BatchProcessingService.BatchInput(input.getFileName().toString(), input, sheets));
+            }
+            BatchProcessingService.BatchResult batchResult = new BatchProcessingService(reader, processor, executor)
+                    .process(batchInputs, employeeIndex);
+            long processingDone = System.nanoTime();
+
+            if (outputFile.getParent() != null) {
+                Files.createDirectories(outputFile.getParent());
+            }
+            try (OutputStream fos = new BufferedOutputStream(new FileOutputStream(outputFile.toFile()))) {
+                if ("csv".equals(format)) {
+                    new CsvWriterService().writeAbsenceResults(batchResult.getResultBatch(), fos);
+                } else {
+                    new ExcelWriterService(0).writeAbsenceResults(batchResult.getResultBatch(), fos);
+                }
+            }
+            if (inputs.size() > 1) {
+                Path summaryFile = outputFile.resolveSibling(outputFile.getFileName().toString().replaceFirst("\\.[^.]+$", "") + "_summary.csv");
+                try (OutputStream fos = new FileOutputStream(summaryFile.toFile())) {
+                    new CsvWriterService().writeBatchSummary(batchResult.getSummaries(), fos);
+                }
+            }
+            long writeDone = System.nanoTime();
+
+            int absencesRead = 0;
+            int failedFiles = 0;
+            for (BatchFileSummary summary : batchResult.getSummaries()) {
+                absencesRead += summary.getAbsencesRead();
+                if (summary.isFailed()) {
+                    failedFiles++;
+                    err.println("Failed: " + summary.getFileName() + ": " + summary.getError());
+                }
+            }
+
+            double totalSeconds = (writeDone - start) / 1e9;
+            out.printf("Employees:  %,d read in %,d ms%n", employees.size(), (employeesDone - start) / 1_000_000);
+            out.printf("Absences:   %,d read, %,d matched from %d file(s) in %,d ms%n", absencesRead,
+                    batchResult.getResultBatch().size(), inputs.size(), (processingDone - employeesDone) / 1_000_000);
+            out.printf("Output:     %s written in %,d ms%n", outputFile, (writeDone - processingDone) / 1_000_000);
+            out.printf("Total:      %,d ms, %,.0f absences/s%n", (writeDone - start) / 1_000_000,
+                    totalSeconds > 0 ? absencesRead / totalSeconds : 0);
+
+            return failedFiles == 0 ? EXIT_OK : EXIT_FAILED;
+        } finally {
+            executor.shutdown();
+            sheetExecutor.shutdown();
+        }
+    }
 }
@@ -3,10 +3,16 @@ package org.hrprocessor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+
 @SpringBootApplication
 public class HRProcessorApplication {
 
     public static void main(String[] args) {
+        if (args.length > 0 && "cli".equals(args[0])) {
+            HRProcessorApp.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         SpringApplication.run(HRProcessorApplication.class, args);
     }
 }
\ No newline at end of file
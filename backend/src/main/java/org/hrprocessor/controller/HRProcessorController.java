@@ -1,29 +1,57 @@
 package org.hrprocessor.controller;
 
-import org.hrprocessor.model.AbsenceResult;
-import org.hrprocessor.model.Employee;
-import org.hrprocessor.model.Absence;
-import org.hrprocessor.service.ExcelReaderService;
+import org.hrprocessor.model.AbsenceHistoryRecord;
+import org.hrprocessor.model.AbsenceQueryResult;
+import org.hrprocessor.model.CapacityReport;
+import org.hrprocessor.model.EmployeeFileVersion;
+import org.hrprocessor.model.EmployeeValidationSummary;
+import org.hrprocessor.service.AbsenceCalendarService;
+import org.hrprocessor.service.AbsenceHistoryService;
+import org.hrprocessor.service.AdmissionControlService;
+import org.hrprocessor.service.AdmissionRejectedException;
+import org.hrprocessor.service.BatchProcessingService;
+import org.hrprocessor.service.CapacityCalculator;
+import org.hrprocessor.service.CsvWriterService;
+import org.hrprocessor.service.EmployeeDirectoryService;
+import org.hrprocessor.service.AbsenceBatch;
 import org.hrprocessor.service.AbsenceProcessorService;
+import org.hrprocessor.service.AbsenceResultBatch;
 import org.hrprocessor.service.ExcelWriterService;
+import org.hrprocessor.service.FileDownloadService;
 import org.hrprocessor.service.FileStorageService;
+import org.hrprocessor.service.InvalidEmployeesFileException;
+import org.hrprocessor.service.ProcessingExecutor;
+import org.hrprocessor.service.StreamingExcelReaderService;
+import org.hrprocessor.service.WarmupService;
+import org.hrprocessor.service.WorkingDayCalendar;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.FileSystemResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 
 @RestController
@@ -32,114 +60,390 @@ import java.util.List;
 public class HRProcessorController {
 
     private static final Logger logger = LoggerFactory.getLogger(HRProcessorController.class);
+    private static final String EXPAND_COUNT = "count";
+    private static final String EXPAND_DAYS = "days";
 
-    private final ExcelReaderService excelReader = new ExcelReaderService();
+    private final StreamingExcelReaderService excelReader;
     private final AbsenceProcessorService processor = new AbsenceProcessorService();
     private final ExcelWriterService excelWriter = new ExcelWriterService();
+    private final CsvWriterService csvWriter = new CsvWriterService();
+    private final CapacityCalculator capacityCalculator = new CapacityCalculator();
     private final FileStorageService fileStorage = new FileStorageService();
+    private final FileDownloadService fileDownload = new FileDownloadService();
+    private final AdmissionControlService admissionControl;
+    private final ProcessingExecutor processingExecutor;
+    private final EmployeeDirectoryService employeeDirectory;
+    private final BatchProcessingService batchProcessing;
+    private final AbsenceCalendarService absenceCalendar;
+    private final AbsenceHistoryService absenceHistory;
+    private final WarmupService warmup;
+    private final long inMemoryUploadBytes;
+
+    public HRProcessorController(AdmissionControlService admissionControl, ProcessingExecutor processingExecutor,
+                                 EmployeeDirectoryService employeeDirectory, AbsenceCalendarService absenceCalendar,
+                                 AbsenceHistoryService absenceHistory, WarmupService warmup,
+                                 @Value("${hr.processor.upload.in-memory-threshold-mb:4}") int inMemoryUploadMb) {
+        this.admissionControl = admissionControl;
+        this.processingExecutor = processingExecutor;
+        this.employeeDirectory = employeeDirectory;
+        this.absenceCalendar = absenceCalendar;
+        this.absenceHistory = absenceHistory;
+        this.warmup = warmup;
+        this.excelReader = new StreamingExcelReaderService(processingExecutor.getSheetExecutorService());
+        this.inMemoryUploadBytes = inMemoryUploadMb * 1024L * 1024L;
+        this.batchProcessing = new BatchProcessingService(excelReader, processor, processingExecutor.getExecutorService());
+    }
 
     @PostMapping("/process")
-    public ResponseEntity<byte[]> processFiles(@RequestParam("absencesFile") MultipartFile absencesFile, @RequestParam(value = "format", defaultValue = "excel") String format) {
-        logger.info("Processing absence file: {} in format: {}", absencesFile.getOriginalFilename(), format);
+    public ResponseEntity<byte[]> processFiles(@RequestParam("absencesFile") MultipartFile absencesFile, @RequestParam(value = "format", defaultValue = "excel") String format,
+                                               @RequestParam(value = "sheets", required = false) List<String> sheets,
+                                               @RequestParam(value = "capacity", required = false) String capacity,
+                                               @RequestParam(value = "expand", required = false) String expand) {
+        logger.info("Processing absence file: {} in format: {}, sheets: {}", absencesFile.getOriginalFilename(), format, sheets != null ? sheets : "first");
 
-        try {
-            if (!fileStorage.persistentEmployeesFileExists()) {
-                return ResponseEntity.badRequest().build();
-            }
-            Path tempDir = Files.createTempDirectory("hr-processor");
-            Path absencesPath = tempDir.resolve("absences.xlsx");
-            Path outputPath = tempDir.resolve("output" + (format.equals("csv") ? "csv" : "xlsx"));
+        EmployeeDirectoryService.Snapshot employees = employeeDirectory.getCurrent();
+        if (employees == null || !isValidExpand(expand)) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean expandDays = EXPAND_DAYS.equalsIgnoreCase(expand);
+        WorkingDayCalendar workingDays = expand != null ? WorkingDayCalendar.current() : null;
 
-            absencesFile.transferTo(absencesPath.toFile());
+        // Small single-sheet uploads are parsed straight from the multipart stream. Larger ones, and sheets parsed
+        // in parallel, need random access to the zip, so the part is handed over to a single temp file; for
+        // disk-backed parts this is a rename, not a copy.
+        boolean inMemory = absencesFile.getSize() <= inMemoryUploadBytes && (sheets == null || sheets.isEmpty());
+        Path spooledFile = null;
+        try (AdmissionControlService.Permit permit = admissionControl.acquire(absencesFile.getSize(), inMemory)) {
+            logger.debug("Processing with an estimated {} MB", permit.getCostMb());
 
-            List<Employee> employees = excelReader.readEmployees(fileStorage.getPersistentEmployeesFile().toString());
-            List<Absence> absences = excelReader.readAbsences(absencesPath.toString());
-            List<AbsenceResult> results = processor.processAbsences(absences, employees);
+            if (!inMemory) {
+                spooledFile = Files.createTempFile("hr-absences", ".xlsx");
+                absencesFile.transferTo(spooledFile.toFile());
+            }
+            Path absencesPath = spooledFile;
 
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String fileName;
-            MediaType mediaType;
-            byte[] fileData;
+            boolean csv = format.equals("csv");
+            String fileName = "HR_RO_SMARTDISPO_ABSENCE_" + timestamp + (csv ? ".csv" : ".xlsx");
+            MediaType mediaType = csv ? MediaType.parseMediaType("text/csv") : MediaType.APPLICATION_OCTET_STREAM;
 
+            byte[] fileData = processingExecutor.call(() -> {
+                AbsenceBatch absences;
+                if (inMemory) {
+                    try (InputStream in = absencesFile.getInputStream()) {
+                        absences = excelReader.readAbsenceBatch(in, String.valueOf(absencesFile.getOriginalFilename()));
+                    }
+                } else {
+                    absences = excelReader.readAbsenceBatch(absencesPath.toString(), sheets);
+                }
+                AbsenceResultBatch results = processor.processAbsences(absences, employees.getIndex());
+                absenceCalendar.update(results, String.valueOf(absencesFile.getOriginalFilename()));
+                absenceHistory.record(results);
+                AbsenceResultBatch rows = expandDays ? workingDays.expand(results) : results;
+                WorkingDayCalendar workingDaysColumn = expandDays ? null : workingDays;
 
-            if (format.equals("csv")) {
-                fileName = "HR_RO_SMARTDISPO_ABSENCE_" + timestamp + ".csv";
-                mediaType = MediaType.parseMediaType("text/csv");
-                fileData = generateCSV(results).getBytes();
-            } else {
-                excelWriter.writeAbsenceResults(results, outputPath.toString());
-                fileName = "HR_RO_SMARTDISPO_ABSENCE_" + timestamp + ".xlsx";
-                mediaType = MediaType.APPLICATION_OCTET_STREAM;
-                fileData = Files.readAllBytes(outputPath);
-            }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                if (csv) {
+                    csvWriter.writeAbsenceResults(rows, workingDaysColumn, out);
+                } else {
+                    CapacityReport capacityReport = capacity != null ? capacityCalculator.calculate(results, capacity) : null;
+                    excelWriter.writeAbsenceResults(rows, capacityReport, workingDaysColumn, out);
+                }
+                return out.toByteArray();
+            });
 
             return ResponseEntity.ok().header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"").contentType(mediaType).body(fileData);
+        } catch (AdmissionRejectedException e) {
+            logger.warn("Rejected {}: {}", absencesFile.getOriginalFilename(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds())).build();
+        } catch (RejectedExecutionException e) {
+            logger.warn("Processing queue full, rejecting {}", absencesFile.getOriginalFilename());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, String.valueOf(admissionControl.getRetryAfterSeconds())).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Cannot process {}: {}", absencesFile.getOriginalFilename(), e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Error procesing files", e);
             return ResponseEntity.internalServerError().build();
+        } finally {
+            deleteQuietly(spooledFile);
+        }
+    }
+
+    @PostMapping("/process-batch")
+    public ResponseEntity<byte[]> processBatch(@RequestParam("absencesFiles") MultipartFile[] absencesFiles, @RequestParam(value = "format", defaultValue = "excel") String format,
+                                               @RequestParam(value = "expand", required = false) String expand) {
+        logger.info("Processing batch of {} absence files in format: {}", absencesFiles.length, format);
+
+        EmployeeDirectoryService.Snapshot employees = employeeDirectory.getCurrent();
+        if (employees == null || absencesFiles.length == 0 || !isValidExpand(expand)) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean expandDays = EXPAND_DAYS.equalsIgnoreCase(expand);
+        WorkingDayCalendar workingDays = expand != null ? WorkingDayCalendar.current() : null;
+
+        long jobBytes = 0;
+        for (MultipartFile absencesFile : absencesFiles) {
+            jobBytes += absencesFile.getSize();
+        }
+
+        Path tempDir = null;
+        try (AdmissionControlService.Permit permit = admissionControl.acquire(jobBytes)) {
+            logger.debug("Processing batch with an estimated {} MB", permit.getCostMb());
+            tempDir = Files.createTempDirectory("hr-processor-batch");
+
+            List<BatchProcessingService.BatchInput> inputs = new ArrayList<>();
+            for (int i = 0; i < absencesFiles.length; i++) {
+                Path absencesPath = tempDir.resolve("absences-" + i + ".xlsx");
+                absencesFiles[i].transferTo(absencesPath.toFile());
+                String name = absencesFiles[i].getOriginalFilename() != null ? absencesFiles[i].getOriginalFilename() : absencesPath.getFileName().toString();
+                inputs.add(new BatchProcessingService.BatchInput(name, absencesPath));
+            }
+
+            BatchProcessingService.BatchResult batchResult = batchProcessing.process(inputs, employees.getIndex());
+            absenceCalendar.update(batchResult.getResultBatch(), "batch of " + absencesFiles.length + " files");
+            absenceHistory.record(batchResult.getResultBatch());
+
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            boolean csv = format.equals("csv");
+            String outputName = "HR_RO_SMARTDISPO_ABSENCE_" + timestamp + (csv ? ".csv" : ".xlsx");
+
+            byte[] zipData = processingExecutor.call(() -> {
+                AbsenceResultBatch rows = expandDays ? workingDays.expand(batchResult.getResultBatch()) : batchResult.getResultBatch();
+                WorkingDayCalendar workingDaysColumn = expandDays ? null : workingDays;
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (ZipOutputStream zip = new ZipOutputStream(out)) {
+                    zip.putNextEntry(new ZipEntry(outputName));
+                    if (csv) {
+                        csvWriter.writeAbsenceResults(rows, workingDaysColumn, zip);
+                    } else {
+                        excelWriter.writeAbsenceResults(rows, null, workingDaysColumn, zip);
+                    }
+                    zip.closeEntry();
+
+                    zip.putNextEntry(new ZipEntry("HR_RO_SMARTDISPO_ABSENCE_" + timestamp + "_summary.csv"));
+                    csvWriter.writeBatchSummary(batchResult.getSummaries(), zip);
+                    zip.closeEntry();
+                }
+                return out.toByteArray();
+            });
+
+            return ResponseEntity.ok().header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"HR_RO_SMARTDISPO_ABSENCE_" + timestamp + ".zip\"").contentType(MediaType.parseMediaType("application/zip")).body(zipData);
+        } catch (AdmissionRejectedException e) {
+            logger.warn("Rejected batch of {} files: {}", absencesFiles.length, e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds())).build();
+        } catch (RejectedExecutionException e) {
+            logger.warn("Processing queue full, rejecting batch of {} files", absencesFiles.length);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, String.valueOf(admissionControl.getRetryAfterSeconds())).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            logger.error("Error processing batch", e);
+            return ResponseEntity.internalServerError().build();
+        } finally {
+            deleteQuietly(tempDir);
         }
     }
 
-    private String generateCSV(List<AbsenceResult> results) {
-        StringBuilder csv = new StringBuilder();
-        csv.append("USER-ID,email,absent from,absent until\n");
+    @GetMapping("/absences")
+    public ResponseEntity<AbsenceQueryResult> findAbsences(@RequestParam(value = "from", required = false) LocalDate from,
+                                                           @RequestParam(value = "to", required = false) LocalDate to,
+                                                           @RequestParam(value = "userId", required = false) String userId) {
+        AbsenceCalendarService.Calendar calendar = absenceCalendar.getCurrent();
+        if (calendar == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (from == null) {
+            from = to != null ? to : LocalDate.now();
+        }
+        if (to == null) {
+            to = from;
+        }
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        String user = userId != null && !userId.isBlank() ? userId.trim() : null;
+        return ResponseEntity.ok(new AbsenceQueryResult(calendar.getSource(), calendar.getProcessedAt(), from, to, calendar.find(from, to, user)));
+    }
+
+    @GetMapping("/absences/history")
+    public ResponseEntity<List<AbsenceHistoryRecord>> findAbsenceHistory(@RequestParam(value = "from", required = false) LocalDate from,
+                                                                       @RequestParam(value = "to", required = false) LocalDate to,
+                                                                       @RequestParam(value = "userId", required = false) String userId) {
+        if (!absenceHistory.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (from == null) {
+            from = to != null ? to : LocalDate.now();
+        }
+        if (to == null) {
+            to = from;
+        }
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(absenceHistory.find(from, to, userId != null && !userId.isBlank() ? userId.trim() : null));
+        } catch (IOException e) {
+            logger.error("Error reading absence history", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
-        for (AbsenceResult result : results) {
-            csv.append(result.getUserId()).append(",").append(result.getEmail()).append(",").append(result.getFormattedAbsentFrom()).append(",").append(result.getFormattedAbsentUntil()).append("\n");
+    @GetMapping("/capacity")
+    public ResponseEntity<CapacityReport> getCapacity(@RequestParam(value = "from", required = false) LocalDate from,
+                                                      @RequestParam(value = "to", required = false) LocalDate to,
+                                                      @RequestParam(value = "granularity", defaultValue = CapacityCalculator.DAY) String granularity) {
+        AbsenceCalendarService.Calendar calendar = absenceCalendar.getCurrent();
+        if (calendar == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            CapacityReport report;
+            if (from == null && to == null) {
+                report = capacityCalculator.calculate(calendar.getResults(), granularity);
+            } else {
+                report = capacityCalculator.calculate(calendar.getResults(), from != null ? from : to, to != null ? to : from, granularity);
+            }
+            report.setSource(calendar.getSource());
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Cannot calculate capacity: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         }
+    }
+
+    private static boolean isValidExpand(String expand) {
+        return expand == null || EXPAND_COUNT.equalsIgnoreCase(expand) || EXPAND_DAYS.equalsIgnoreCase(expand);
+    }
 
-        return csv.toString();
+    private void deleteQuietly(Path path) {
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            logger.warn("Could not delete temporary file {}", path, e);
+        }
     }
 
+    /**
+     * Serves the active version's stored file, whose bytes always match its hash, so the hash is the ETag. Clients
+     * revalidate with If-None-Match and get a 304 without the file being opened; Range requests get a 206.
+     */
     @GetMapping("/current-employees")
-    public ResponseEntity<Resource> getCurrentEmployees() {
+    public void getCurrentEmployees(HttpServletRequest request, HttpServletResponse response) throws IOException {
         try {
             if (!fileStorage.persistentEmployeesFileExists()) {
-                return ResponseEntity.notFound().build();
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
             }
 
             File file = fileStorage.getPersistentEmployeesAsFile();
-            Resource resource = new FileSystemResource(file);
-
-            return ResponseEntity.ok().header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + "\"").contentType(MediaType.APPLICATION_OCTET_STREAM).body(resource);
-
+            EmployeeDirectoryService.Snapshot snapshot = employeeDirectory.getCurrent();
+            Path versionFile = snapshot != null ? fileStorage.getVersionPath(snapshot.getVersion().getId()) : null;
+            if (versionFile != null && Files.exists(versionFile)) {
+                fileDownload.send(versionFile, etag(snapshot), snapshot.getVersion().getCreatedAt(), file.getName(), request, response);
+            } else {
+                // Master that failed to load: no hash without reading it, so validate on the modification time only
+                fileDownload.send(file.toPath(), null, file.lastModified(), file.getName(), request, response);
+            }
         } catch (Exception e) {
             logger.error("Error retrieving current employees file", e);
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         }
     }
 
     @PostMapping("/update-employees")
-    public ResponseEntity<String> updateEmployees(@RequestParam("employeesFile") MultipartFile employeesFile) {
+    public ResponseEntity<EmployeeValidationSummary> updateEmployees(@RequestParam("employeesFile") MultipartFile employeesFile) {
         try {
-            fileStorage.updatePersistentEmployeesFile(employeesFile);
-            return ResponseEntity.ok("Employees file updated successfully");
+            return ResponseEntity.ok(employeeDirectory.update(employeesFile).getValidation());
+        } catch (InvalidEmployeesFileException e) {
+            logger.warn("Rejected employees file {}: {}", employeesFile.getOriginalFilename(), e.getMessage());
+            return ResponseEntity.badRequest().body(e.getSummary());
         } catch (Exception e) {
             logger.error("Error updating employees file", e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @GetMapping("/employees-versions")
+    public ResponseEntity<List<EmployeeFileVersion>> getEmployeesVersions() {
+        try {
+            return ResponseEntity.ok(employeeDirectory.listVersions());
+        } catch (Exception e) {
+            logger.error("Error listing employees versions", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("/employees-versions/{versionId}/rollback")
+    public ResponseEntity<List<EmployeeFileVersion>> rollbackEmployees(@PathVariable String versionId) {
+        try {
+            if (employeeDirectory.rollback(versionId).isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(employeeDirectory.listVersions());
+        } catch (Exception e) {
+            logger.error("Error rolling back employees to {}", versionId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/employees-status")
     public ResponseEntity<Object> getEmployeesStatus() {
         boolean exists = fileStorage.persistentEmployeesFileExists();
         if (exists) {
             File file = fileStorage.getPersistentEmployeesAsFile();
-            return ResponseEntity.ok(new Object() {
+            EmployeeDirectoryService.Snapshot snapshot = employeeDirectory.getCurrent();
+            Object status = new Object() {
                 public final boolean exists = true;
                 public final String name = file.getName();
                 public final long size = file.length();
                 public final long lastModified = file.lastModified();
-            });
+                public final String version = snapshot != null ? snapshot.getVersion().getId() : null;
+            };
+            // The status only changes with the master file, so polling clients mostly get an empty 304
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache()).lastModified(file.lastModified());
+            if (snapshot != null) {
+                response.eTag(snapshot.getVersion().getSha256() + "-status");
+            }
+            return response.body(status);
         } else {
-            return ResponseEntity.ok(new Object() {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new Object() {
                 public final boolean exists = false;
             });
         }
     }
 
+    private static String etag(EmployeeDirectoryService.Snapshot snapshot) {
+        return "\"" + snapshot.getVersion().getSha256() + "\"";
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("HR Processor API is running");
     }
+
+    /** 503 until the start-up warm-up has run, so a restarted container only gets traffic once it is fast. */
+    @GetMapping("/ready")
+    public ResponseEntity<Object> ready() {
+        boolean warmedUp = warmup.isWarmedUp();
+        long warmupMs = warmup.getWarmupMs();
+        EmployeeDirectoryService.Snapshot employees = employeeDirectory.getCurrent();
+        Object body = new Object() {
+            public final boolean ready = warmedUp;
+            public final long warmupDurationMs = warmupMs;
+            public final String employeesVersion = employees != null ? employees.getVersion().getId() : null;
+        };
+        return ResponseEntity.status(warmedUp ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package org.hrprocessor.model;
+
+import java.time.LocalDate;
+
+public class AbsenceHistoryRecord {
+
+    private String userId;
+    private LocalDate absentFrom;
+    private LocalDate absentUntil;
+    private LocalDate recordedOn;
+    private String status;
+
+    public AbsenceHistoryRecord()
+    {
+
+    }
+
+    public AbsenceHistoryRecord(String userId, LocalDate absentFrom, LocalDate absentUntil, LocalDate recordedOn, String status) {
+        this.userId = userId;
+        this.absentFrom = absentFrom;
+        this.absentUntil = absentUntil;
+        this.recordedOn = recordedOn;
+        this.status = status;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getAbsentFrom() {
+        return absentFrom;
+    }
+
+    public void setAbsentFrom(LocalDate absentFrom) {
+        this.absentFrom = absentFrom;
+    }
+
+    public LocalDate getAbsentUntil() {
+        return absentUntil;
+    }
+
+    public void setAbsentUntil(LocalDate absentUntil) {
+        this.absentUntil = absentUntil;
+    }
+
+    public LocalDate getRecordedOn() {
+        return recordedOn;
+    }
+
+    public void setRecordedOn(LocalDate recordedOn) {
+        this.recordedOn = recordedOn;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "AbsenceHistoryRecord{" +
+                "userId='" + userId + '\'' +
+                ", absentFrom=" + absentFrom +
+                ", absentUntil=" + absentUntil +
+                ", recordedOn=" + recordedOn +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
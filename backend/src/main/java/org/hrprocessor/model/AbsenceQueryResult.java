@@ -0,0 +1,86 @@
+package org.hrprocessor.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class AbsenceQueryResult {
+
+    private String source;
+    private long processedAt;
+    private LocalDate from;
+    private LocalDate to;
+    private int count;
+    private List<AbsenceResult> absences;
+
+    public AbsenceQueryResult()
+    {
+
+    }
+
+    public AbsenceQueryResult(String source, long processedAt, LocalDate from, LocalDate to, List<AbsenceResult> absences) {
+        this.source = source;
+        this.processedAt = processedAt;
+        this.from = from;
+        this.to = to;
+        this.count = absences.size();
+        this.absences = absences;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public long getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(long processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public List<AbsenceResult> getAbsences() {
+        return absences;
+    }
+
+    public void setAbsences(List<AbsenceResult> absences) {
+        this.absences = absences;
+    }
+
+    @Override
+    public String toString() {
+        return "AbsenceQueryResult{" +
+                "source='" + source + '\'' +
+                ", from=" + from +
+                ", to=" + to +
+                ", count=" + count +
+                '}';
+    }
+}
@@ -5,6 +5,8 @@ import java.time.format.DateTimeFormatter;
 
 public class AbsenceResult {
 
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
     private String userId;
     private  String email;
     private LocalDate absentFrom;
@@ -67,10 +69,10 @@ public class AbsenceResult {
 
     public String getFormattedAbsentFrom()
     {
-        return absentFrom !=null? absentFrom.format(DateTimeFormatter.ofPattern("dd.MM.yyyy")):"";
+        return absentFrom !=null? absentFrom.format(DATE_FORMAT):"";
     }
     public String getFormattedAbsentUntil()
     {
-        return absentUntil !=null? absentUntil.format(DateTimeFormatter.ofPattern("dd.MM.yyyy")):"";
+        return absentUntil !=null? absentUntil.format(DATE_FORMAT):"";
     }
 }
@@ -0,0 +1,84 @@
+package org.hrprocessor.model;
+
+public class BatchFileSummary {
+
+    private String fileName;
+    private int absencesRead;
+    private int matched;
+    private int unmatched;
+    private long durationMs;
+    private String error;
+
+    public BatchFileSummary()
+    {
+
+    }
+
+    public BatchFileSummary(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public int getAbsencesRead() {
+        return absencesRead;
+    }
+
+    public void setAbsencesRead(int absencesRead) {
+        this.absencesRead = absencesRead;
+    }
+
+    public int getMatched() {
+        return matched;
+    }
+
+    public void setMatched(int matched) {
+        this.matched = matched;
+    }
+
+    public int getUnmatched() {
+        return unmatched;
+    }
+
+    public void setUnmatched(int unmatched) {
+        this.unmatched = unmatched;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchFileSummary{" +
+                "fileName='" + fileName + '\'' +
+                ", absencesRead=" + absencesRead +
+                ", matched=" + matched +
+                ", unmatched=" + unmatched +
+                ", durationMs=" + durationMs +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
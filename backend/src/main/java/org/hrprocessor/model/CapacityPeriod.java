@@ -0,0 +1,110 @@
+package org.hrprocessor.model;
+
+import java.time.LocalDate;
+
+public class CapacityPeriod {
+
+    private LocalDate start;
+    private LocalDate end;
+    private int workingDays;
+    private int absentEmployees;
+    private double plannedHours;
+    private double absentHours;
+    private double availableHours;
+    private double availableFte;
+
+    public CapacityPeriod()
+    {
+
+    }
+
+    public CapacityPeriod(LocalDate start, LocalDate end, int workingDays, int absentEmployees, double plannedHours,
+                          double absentHours, double availableFte) {
+        this.start = start;
+        this.end = end;
+        this.workingDays = workingDays;
+        this.absentEmployees = absentEmployees;
+        this.plannedHours = plannedHours;
+        this.absentHours = absentHours;
+        this.availableHours = plannedHours - absentHours;
+        this.availableFte = availableFte;
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDate start) {
+        this.start = start;
+    }
+
+    public LocalDate getEnd() {
+        return end;
+    }
+
+    public void setEnd(LocalDate end) {
+        this.end = end;
+    }
+
+    public int getWorkingDays() {
+        return workingDays;
+    }
+
+    public void setWorkingDays(int workingDays) {
+        this.workingDays = workingDays;
+    }
+
+    public int getAbsentEmployees() {
+        return absentEmployees;
+    }
+
+    public void setAbsentEmployees(int absentEmployees) {
+        this.absentEmployees = absentEmployees;
+    }
+
+    public double getPlannedHours() {
+        return plannedHours;
+    }
+
+    public void setPlannedHours(double plannedHours) {
+        this.plannedHours = plannedHours;
+    }
+
+    public double getAbsentHours() {
+        return absentHours;
+    }
+
+    public void setAbsentHours(double absentHours) {
+        this.absentHours = absentHours;
+    }
+
+    public double getAvailableHours() {
+        return availableHours;
+    }
+
+    public void setAvailableHours(double availableHours) {
+        this.availableHours = availableHours;
+    }
+
+    public double getAvailableFte() {
+        return availableFte;
+    }
+
+    public void setAvailableFte(double availableFte) {
+        this.availableFte = availableFte;
+    }
+
+    @Override
+    public String toString() {
+        return "CapacityPeriod{" +
+                "start=" + start +
+                ", end=" + end +
+                ", workingDays=" + workingDays +
+                ", absentEmployees=" + absentEmployees +
+                ", plannedHours=" + plannedHours +
+                ", absentHours=" + absentHours +
+                ", availableHours=" + availableHours +
+                ", availableFte=" + availableFte +
+                '}';
+    }
+}
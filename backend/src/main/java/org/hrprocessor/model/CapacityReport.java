@@ -0,0 +1,87 @@
+package org.hrprocessor.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class CapacityReport {
+
+    private String source;
+    private LocalDate from;
+    private LocalDate to;
+    private String granularity;
+    private int employees;
+    private List<CapacityPeriod> periods;
+
+    public CapacityReport()
+    {
+
+    }
+
+    public CapacityReport(LocalDate from, LocalDate to, String granularity, int employees, List<CapacityPeriod> periods) {
+        this.from = from;
+        this.to = to;
+        this.granularity = granularity;
+        this.employees = employees;
+        this.periods = periods;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(int employees) {
+        this.employees = employees;
+    }
+
+    public List<CapacityPeriod> getPeriods() {
+        return periods;
+    }
+
+    public void setPeriods(List<CapacityPeriod> periods) {
+        this.periods = periods;
+    }
+
+    @Override
+    public String toString() {
+        return "CapacityReport{" +
+                "source='" + source + '\'' +
+                ", from=" + from +
+                ", to=" + to +
+                ", granularity='" + granularity + '\'' +
+                ", employees=" + employees +
+                ", periods=" + (periods != null ? periods.size() : 0) +
+                '}';
+    }
+}
@@ -0,0 +1,72 @@
+package org.hrprocessor.model;
+
+public class EmployeeFileVersion {
+
+    private String id;
+    private String sha256;
+    private long size;
+    private long createdAt;
+    private boolean active;
+
+    public EmployeeFileVersion()
+    {
+
+    }
+
+    public EmployeeFileVersion(String id, String sha256, long size, long createdAt) {
+        this.id = id;
+        this.sha256 = sha256;
+        this.size = size;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeFileVersion{" +
+                "id='" + id + '\'' +
+                ", sha256='" + sha256 + '\'' +
+                ", size=" + size +
+                ", active=" + active +
+                '}';
+    }
+}
@@ -0,0 +1,120 @@
+package org.hrprocessor.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EmployeeValidationSummary {
+
+    private String fileName;
+    private String version;
+    private boolean valid;
+    private String message;
+    private int rows;
+    private int employees;
+    private int rejected;
+    private int duplicateNameKeys;
+    private List<Integer> sampleRejectedRows = new ArrayList<>();
+    private List<String> sampleDuplicateNameKeys = new ArrayList<>();
+
+    public EmployeeValidationSummary()
+    {
+
+    }
+
+    public EmployeeValidationSummary(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(int employees) {
+        this.employees = employees;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public int getDuplicateNameKeys() {
+        return duplicateNameKeys;
+    }
+
+    public void setDuplicateNameKeys(int duplicateNameKeys) {
+        this.duplicateNameKeys = duplicateNameKeys;
+    }
+
+    public List<Integer> getSampleRejectedRows() {
+        return sampleRejectedRows;
+    }
+
+    public void setSampleRejectedRows(List<Integer> sampleRejectedRows) {
+        this.sampleRejectedRows = sampleRejectedRows;
+    }
+
+    public List<String> getSampleDuplicateNameKeys() {
+        return sampleDuplicateNameKeys;
+    }
+
+    public void setSampleDuplicateNameKeys(List<String> sampleDuplicateNameKeys) {
+        this.sampleDuplicateNameKeys = sampleDuplicateNameKeys;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeValidationSummary{" +
+                "fileName='" + fileName + '\'' +
+                ", valid=" + valid +
+                ", rows=" + rows +
+                ", employees=" + employees +
+                ", rejected=" + rejected +
+                ", duplicateNameKeys=" + duplicateNameKeys +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,151 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.Absence;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Absences of one run held column-wise: names as ids into a string dictionary and dates as epoch days, so a row
+ * costs four ints instead of an {@code Absence} with two {@code LocalDate}s. {@link #get(int)} and {@link #asList()}
+ * build the POJOs on demand for code that still works with them.
+ */
+public final class AbsenceBatch {
+
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] strings = new String[64];
+    private int stringCount;
+
+    private int[] firstNames;
+    private int[] lastNames;
+    private int[] startDays;
+    private int[] endDays;
+    private int size;
+
+    public AbsenceBatch() {
+        this(256);
+    }
+
+    public AbsenceBatch(int capacity) {
+        int initial = Math.max(16, capacity);
+        firstNames = new int[initial];
+        lastNames = new int[initial];
+        startDays = new int[initial];
+        endDays = new int[initial];
+    }
+
+    public static AbsenceBatch of(List<Absence> absences) {
+        AbsenceBatch batch = new AbsenceBatch(absences.size());
+        for (Absence absence : absences) {
+            batch.add(absence.getFirstName(), absence.getLastName(), epochDay(absence.getStartDate()), epochDay(absence.getEndDate()));
+        }
+        return batch;
+    }
+
+    public void add(String firstName, String lastName, int startDay, int endDay) {
+        append(id(firstName), id(lastName), startDay, endDay);
+    }
+
+    /** Appends every row of the other batch, translating its dictionary ids into this one's. */
+    public void addAll(AbsenceBatch other) {
+        int[] mapping = new int[other.stringCount];
+        for (int i = 0; i < other.stringCount; i++) {
+            mapping[i] = id(other.strings[i]);
+        }
+        for (int i = 0; i < other.size; i++) {
+            append(mapping[other.firstNames[i]], mapping[other.lastNames[i]], other.startDays[i], other.endDays[i]);
+        }
+    }
+
+    private void append(int firstName, int lastName, int startDay, int endDay) {
+        if (size == firstNames.length) {
+            int capacity = size * 2;
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+            startDays = Arrays.copyOf(startDays, capacity);
+            endDays = Arrays.copyOf(endDays, capacity);
+        }
+        firstNames[size] = firstName;
+        lastNames[size] = lastName;
+        startDays[size] = startDay;
+        endDays[size] = endDay;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getFirstName(int row) {
+        return strings[firstNames[row]];
+    }
+
+    public String getLastName(int row) {
+        return strings[lastNames[row]];
+    }
+
+    int getFirstNameId(int row) {
+        return firstNames[row];
+    }
+
+    int getLastNameId(int row) {
+        return lastNames[row];
+    }
+
+    public int getStartDay(int row) {
+        return startDays[row];
+    }
+
+    public int getEndDay(int row) {
+        return endDays[row];
+    }
+
+    public Absence get(int row) {
+        return new Absence(getFirstName(row), getLastName(row), localDate(startDays[row]), localDate(endDays[row]));
+    }
+
+    /** Read-only view; every {@code get} builds a new {@code Absence}. */
+    public List<Absence> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Absence get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return AbsenceBatch.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    static int epochDay(LocalDate date) {
+        return date != null ? Math.toIntExact(date.toEpochDay()) : NO_DATE;
+    }
+
+    static LocalDate localDate(int epochDay) {
+        return epochDay != NO_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    private int id(String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            if (stringCount == strings.length) {
+                strings = Arrays.copyOf(strings, stringCount * 2);
+            }
+            id = stringCount;
+            strings[stringCount++] = value;
+            ids.put(value, id);
+        }
+        return id;
+    }
+}
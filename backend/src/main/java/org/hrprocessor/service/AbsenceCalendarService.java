@@ -0,0 +1,206 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.AbsenceResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Keeps the most recently processed absences queryable by date range and user without re-running an export. Every
+ * processing run (upload, batch or inbox) replaces the calendar with an immutable interval index over its results.
+ */
+@Service
+public class AbsenceCalendarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbsenceCalendarService.class);
+
+    private final AtomicReference<Calendar> current = new AtomicReference<>();
+
+    public void update(AbsenceResultBatch results, String source) {
+        long start = System.nanoTime();
+        Calendar calendar = new Calendar(results, source, System.currentTimeMillis());
+        current.set(calendar);
+        logger.info("Absence calendar updated from {}: {} absences indexed in {} ms", source, calendar.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** The calendar of the last processing run, or {@code null} if nothing has been processed since start-up. */
+    public Calendar getCurrent() {
+        return current.get();
+    }
+
+    /**
+     * Absences of the last run intersecting an inclusive date range, sorted by start date. The index is sorted by start
+     * day and laid out as an implicit balanced tree whose nodes carry the latest end day below them, so a query visits
+     * O(log n + k) rows.
+     */
+    public static final class Calendar {
+
+        private final AbsenceResultBatch results;
+        private final String source;
+        private final long processedAt;
+        private final int size;
+        private final int[] fromDays;
+        private final int[] untilDays;
+        private final int[] maxUntilDays;
+        private final int[] identities;
+        private final String[] userIds;
+        private final String[] emails;
+        private final Map<String, int[]> rowsByUser = new HashMap<>();
+
+        Calendar(AbsenceResultBatch results, String source, long processedAt) {
+            this.results = results;
+            this.source = source;
+            this.processedAt = processedAt;
+
+            long[] order = new long[results.size()];
+            int n = 0;
+            for (int i = 0; i < results.size(); i++) {
+                int from = results.getFromDay(i);
+                if (from != AbsenceBatch.NO_DATE && results.getUntilDay(i) != AbsenceBatch.NO_DATE) {
+                    order[n++] = (long) from << 32 | i;
+                }
+            }
+            Arrays.sort(order, 0, n);
+
+            this.size = n;
+            this.fromDays = new int[n];
+            this.untilDays = new int[n];
+            this.maxUntilDays = new int[n];
+            this.identities = new int[n];
+
+            // One identity per employee, so user id and email are decoded once even for an off-heap index.
+            Map<String, Integer> identityByUser = new HashMap<>();
+            List<String> identityUserIds = new ArrayList<>();
+            List<String> identityEmails = new ArrayList<>();
+            Map<Integer, Integer> identityByOrdinal = new HashMap<>();
+            Map<String, List<Integer>> userRows = new HashMap<>();
+            for (int row = 0; row < n; row++) {
+                int i = (int) order[row];
+                fromDays[row] = results.getFromDay(i);
+                untilDays[row] = results.getUntilDay(i);
+
+                int ordinal = results.getOrdinal(i);
+                Integer identity = ordinal >= 0 ? identityByOrdinal.get(ordinal) : null;
+                if (identity == null) {
+                    String userId = results.getUserId(i);
+                    identity = identityByUser.get(userId);
+                    if (identity == null) {
+                        identity = identityUserIds.size();
+                        identityUserIds.add(userId);
+                        identityEmails.add(results.getEmail(i));
+                        identityByUser.put(userId, identity);
+                    }
+                    if (ordinal >= 0) {
+                        identityByOrdinal.put(ordinal, identity);
+                    }
+                }
+                identities[row] = identity;
+                userRows.computeIfAbsent(identityUserIds.get(identity), k -> new ArrayList<>()).add(row);
+            }
+            this.userIds = identityUserIds.toArray(new String[0]);
+            this.emails = identityEmails.toArray(new String[0]);
+            for (Map.Entry<String, List<Integer>> entry : userRows.entrySet()) {
+                rowsByUser.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+            buildMaxUntil(0, n);
+        }
+
+        /** The results as processed, in the order they were written. */
+        public AbsenceResultBatch getResults() {
+            return results;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public long getProcessedAt() {
+            return processedAt;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public List<AbsenceResult> find(LocalDate from, LocalDate to, String userId) {
+            List<AbsenceResult> found = new ArrayList<>();
+            forEach(Math.toIntExact(from.toEpochDay()), Math.toIntExact(to.toEpochDay()), userId, row -> found.add(get(row)));
+            return found;
+        }
+
+        /** Calls the consumer with every row intersecting [fromDay, toDay], optionally only those of one user. */
+        public void forEach(int fromDay, int toDay, String userId, IntConsumer consumer) {
+            if (userId == null) {
+                collect(0, size, fromDay, toDay, consumer);
+                return;
+            }
+            int[] rows = rowsByUser.get(userId);
+            if (rows == null) {
+                return;
+            }
+            for (int row : rows) {
+                if (fromDays[row] <= toDay && untilDays[row] >= fromDay) {
+                    consumer.accept(row);
+                }
+            }
+        }
+
+        public String getUserId(int row) {
+            return userIds[identities[row]];
+        }
+
+        public String getEmail(int row) {
+            return emails[identities[row]];
+        }
+
+        public int getFromDay(int row) {
+            return fromDays[row];
+        }
+
+        public int getUntilDay(int row) {
+            return untilDays[row];
+        }
+
+        public AbsenceResult get(int row) {
+            return new AbsenceResult(getUserId(row), getEmail(row), LocalDate.ofEpochDay(fromDays[row]), LocalDate.ofEpochDay(untilDays[row]));
+        }
+
+        private int buildMaxUntil(int lo, int hi) {
+            if (lo >= hi) {
+                return Integer.MIN_VALUE;
+            }
+            int mid = (lo + hi) >>> 1;
+            int max = Math.max(untilDays[mid], Math.max(buildMaxUntil(lo, mid), buildMaxUntil(mid + 1, hi)));
+            maxUntilDays[mid] = max;
+            return max;
+        }
+
+        private void collect(int lo, int hi, int fromDay, int toDay, IntConsumer consumer) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxUntilDays[mid] < fromDay) {
+                return;
+            }
+            collect(lo, mid, fromDay, toDay, consumer);
+            if (fromDays[mid] > toDay) {
+                return;
+            }
+            if (untilDays[mid] >= fromDay) {
+                consumer.accept(mid);
+            }
+            collect(mid + 1, hi, fromDay, toDay, consumer);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.hrprocessor.service;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Decides which absence rows are worth reading: the approval status must be one of the accepted ones and the time
+ * type must not be one of the excluded ones. Both readers apply it before any {@code Absence} is built; comparisons
+ * ignore case and surrounding whitespace.
+ */
+public final class AbsenceFilter {
+
+    public static final String DEFAULT_ACCEPTED_STATUSES = "APPROVED,PENDING";
+    public static final String DEFAULT_EXCLUDED_TIME_TYPES = "Working Time,Break";
+
+    private static volatile AbsenceFilter current = new AbsenceFilter(DEFAULT_ACCEPTED_STATUSES, DEFAULT_EXCLUDED_TIME_TYPES);
+
+    private final Set<String> acceptedStatuses;
+    private final Set<String> excludedTimeTypes;
+
+    public AbsenceFilter(String acceptedStatuses, String excludedTimeTypes) {
+        this.acceptedStatuses = parse(acceptedStatuses);
+        this.excludedTimeTypes = parse(excludedTimeTypes);
+        if (this.acceptedStatuses.isEmpty()) {
+            throw new IllegalArgumentException("At least one accepted approval status is required");
+        }
+    }
+
+    public static AbsenceFilter current() {
+        return current;
+    }
+
+    /** Comma-separated lists; replaces the filter used by every reader from the next workbook on. */
+    public static void configure(String acceptedStatuses, String excludedTimeTypes) {
+        current = new AbsenceFilter(acceptedStatuses, excludedTimeTypes);
+    }
+
+    public boolean isAcceptedStatus(String status) {
+        return status != null && acceptedStatuses.contains(status.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public boolean isExcludedTimeType(String timeType) {
+        return timeType != null && excludedTimeTypes.contains(timeType.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /** A matcher for one pass over a sheet; not thread-safe. */
+    Matcher newMatcher() {
+        return new Matcher();
+    }
+
+    private static Set<String> parse(String values) {
+        Set<String> result = new HashSet<>();
+        if (values != null) {
+            for (String value : values.split(",")) {
+                if (!value.isBlank()) {
+                    result.add(value.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remembers the verdict per shared-string index, so a status or time type stored in the shared-strings table is
+     * decoded and compared once per sheet and every other row is decided with two bit lookups.
+     */
+    final class Matcher {
+        private final BitSet statusKnown = new BitSet();
+        private final BitSet statusAccepted = new BitSet();
+        private final BitSet timeTypeKnown = new BitSet();
+        private final BitSet timeTypeExcluded = new BitSet();
+
+        boolean acceptsStatus(StreamingRow row, int column) {
+            int index = row.getSharedIndex(column);
+            if (index < 0) {
+                return isAcceptedStatus(row.getString(column));
+            }
+            if (!statusKnown.get(index)) {
+                statusKnown.set(index);
+                statusAccepted.set(index, isAcceptedStatus(row.getString(column)));
+            }
+            return statusAccepted.get(index);
+        }
+
+        boolean excludesTimeType(StreamingRow row, int column) {
+            int index = row.getSharedIndex(column);
+            if (index < 0) {
+                return isExcludedTimeType(row.getString(column));
+            }
+            if (!timeTypeKnown.get(index)) {
+                timeTypeKnown.set(index);
+                timeTypeExcluded.set(index, isExcludedTimeType(row.getString(column)));
+            }
+            return timeTypeExcluded.get(index);
+        }
+    }
+}
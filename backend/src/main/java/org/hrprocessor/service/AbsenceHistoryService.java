@@ -0,0 +1,546 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.AbsenceHistoryRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps every processed absence in {@code data/history} so trends can be queried without re-uploading old exports.
+ * Each run is appended as a new immutable segment file of fixed-size records (user ordinal, from day, until day,
+ * recorded day, status) whose header carries the earliest start and latest end, so a query only opens the segments
+ * overlapping its range. User ids are numbered in an append-only {@code users.tsv} of {@code ordinal<TAB>id} lines
+ * with backslash, control and line-separator characters escaped, so an id can never shift the numbering.
+ * <p>
+ * Once enough run segments pile up they are compacted into one segment per start year, sorted by start day and
+ * without the duplicates left by processing the same export more than once.
+ * <p>
+ * Runs are recorded by a single writer thread, so a request neither waits for the disk nor for another run's append
+ * or compaction; only when that writer falls a whole queue behind does a request write its run itself.
+ */
+@Service
+public class AbsenceHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbsenceHistoryService.class);
+
+    public static final byte STATUS_ACCEPTED = 1;
+    private static final String[] STATUS_NAMES = {"UNKNOWN", "ACCEPTED"};
+
+    private static final int MAGIC = 0x48524853;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int RECORD_BYTES = 17;
+    private static final String USERS_FILE = "users.tsv";
+    private static final String LEGACY_USERS_FILE = "users.txt";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".bin";
+    private static final int WRITER_QUEUE_CAPACITY = 64;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int compactThreshold;
+    private final ThreadPoolExecutor writer;
+
+    private final Map<String, Integer> ordinalsByUserId = new ConcurrentHashMap<>();
+    private volatile String[] userIds = new String[0];
+    private volatile List<Segment> segments = List.of();
+    private long nextSequence = 1;
+
+    @Autowired
+    public AbsenceHistoryService(@Value("${hr.processor.history.enabled:true}") boolean enabled,
+                                 @Value("${hr.processor.history.directory:data/history}") String directory,
+                                 @Value("${hr.processor.history.compact-threshold:16}") int compactThreshold) {
+        this(enabled, Paths.get(directory).toAbsolutePath(), compactThreshold);
+    }
+
+    public AbsenceHistoryService(boolean enabled, Path directory, int compactThreshold) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.compactThreshold = Math.max(2, compactThreshold);
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(WRITER_QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, "hr-history-writer");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (!enabled) {
+            logger.info("Absence history is disabled");
+            return;
+        }
+        Files.createDirectories(directory);
+
+        String[] users = readUsers();
+        for (int i = 0; i < users.length; i++) {
+            if (users[i] != null) {
+                ordinalsByUserId.putIfAbsent(users[i], i);
+            }
+        }
+        userIds = users;
+
+        List<Segment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".part")) {
+                    Files.deleteIfExists(file);
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    Segment segment = readHeader(file);
+                    loaded.add(segment);
+                    nextSequence = Math.max(nextSequence, segment.sequence + 1);
+                }
+            }
+        }
+        loaded.sort(Comparator.comparingLong(segment -> segment.sequence));
+        segments = List.copyOf(loaded);
+        logger.info("Absence history in {}: {} segments, {} records, {} users", directory, loaded.size(),
+                loaded.stream().mapToLong(segment -> segment.count).sum(), ordinalsByUserId.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /** Appends the results of one run as a new segment; rows without dates are not recorded. */
+    public synchronized void append(AbsenceResultBatch results) throws IOException {
+        if (!enabled || results.size() == 0) {
+            return;
+        }
+        int recordedDay = Math.toIntExact(LocalDate.now().toEpochDay());
+        Records records = new Records(results.size());
+        Map<String, Integer> newUsers = new LinkedHashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            int from = results.getFromDay(i);
+            int until = results.getUntilDay(i);
+            if (from == AbsenceBatch.NO_DATE || until == AbsenceBatch.NO_DATE) {
+                continue;
+            }
+            records.add(userOrdinal(results.getUserId(i), newUsers), from, until, recordedDay, STATUS_ACCEPTED);
+        }
+        if (records.size == 0) {
+            return;
+        }
+
+        if (!newUsers.isEmpty()) {
+            List<String> lines = new ArrayList<>(newUsers.size());
+            newUsers.forEach((userId, ordinal) -> lines.add(ordinal + "\t" + escapeUserId(userId)));
+            Files.write(directory.resolve(USERS_FILE), lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            String[] ids = Arrays.copyOf(userIds, userIds.length + newUsers.size());
+            for (Map.Entry<String, Integer> user : newUsers.entrySet()) {
+                ids[user.getValue()] = user.getKey();
+                ordinalsByUserId.put(user.getKey(), user.getValue());
+            }
+            userIds = ids;
+        }
+
+        Segment segment = writeSegment(records, false);
+        List<Segment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        segments = List.copyOf(updated);
+        logger.info("Appended {} absences to history segment {}", segment.count, segment.file.getFileName());
+    }
+
+    /**
+     * Hands the run to the writer thread, which appends it and compacts once enough run segments have piled up.
+     * Failures are logged instead of failing the run.
+     */
+    public void record(AbsenceResultBatch results) {
+        if (!enabled || results.size() == 0) {
+            return;
+        }
+        writer.execute(() -> {
+            try {
+                append(results);
+                compactIfDue();
+            } catch (IOException | RuntimeException e) {
+                logger.error("Could not append {} absences to the history in {}", results.size(), directory, e);
+            }
+        });
+    }
+
+    /** Waits until every run recorded so far has been written. */
+    public void flush() throws InterruptedException {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Absence history writer did not finish, {} runs were not recorded", writer.getQueue().size());
+        }
+    }
+
+    private synchronized void compactIfDue() throws IOException {
+        if (segments.stream().filter(segment -> !segment.compacted).count() >= compactThreshold) {
+            compact();
+        }
+    }
+
+    /**
+     * User ids by ordinal. A {@code users.txt} from before the explicit format is numbered by line and rewritten
+     * once; a line torn by a crash during an append is skipped.
+     */
+    private String[] readUsers() throws IOException {
+        Path usersFile = directory.resolve(USERS_FILE);
+        Path legacyFile = directory.resolve(LEGACY_USERS_FILE);
+        if (!Files.exists(usersFile) && Files.exists(legacyFile)) {
+            List<String> legacy = Files.readAllLines(legacyFile, StandardCharsets.UTF_8);
+            List<String> lines = new ArrayList<>(legacy.size());
+            for (int i = 0; i < legacy.size(); i++) {
+                lines.add(i + "\t" + escapeUserId(legacy.get(i)));
+            }
+            Path part = directory.resolve(USERS_FILE + ".part");
+            Files.write(part, lines, StandardCharsets.UTF_8);
+            Files.move(part, usersFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.delete(legacyFile);
+            logger.info("Converted {} history users to {}", legacy.size(), usersFile);
+        }
+        if (!Files.exists(usersFile)) {
+            return new String[0];
+        }
+
+        List<String> lines = Files.readAllLines(usersFile, StandardCharsets.UTF_8);
+        String[] users = new String[0];
+        for (String line : lines) {
+            int tab = line.indexOf('\t');
+            int ordinal;
+            String userId;
+            try {
+                ordinal = Integer.parseInt(line.substring(0, Math.max(tab, 0)));
+                userId = unescapeUserId(line.substring(tab + 1));
+                if (ordinal < 0) {
+                    throw new IllegalArgumentException("Negative ordinal");
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warn("Skipping malformed line in {}: {}", usersFile, line);
+                continue;
+            }
+            if (ordinal >= users.length) {
+                users = Arrays.copyOf(users, ordinal + 1);
+            }
+            users[ordinal] = userId;
+        }
+        return users;
+    }
+
+    /** Escapes the backslash and every character a line reader could split on or trim. */
+    static String escapeUserId(String userId) {
+        StringBuilder escaped = new StringBuilder(userId.length());
+        for (int i = 0; i < userId.length(); i++) {
+            char c = userId.charAt(i);
+            if (c == '\\') {
+                escaped.append("\\\\");
+            } else if (Character.isISOControl(c) || c == '\u2028' || c == '\u2029') {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    static String unescapeUserId(String escaped) {
+        StringBuilder userId = new StringBuilder(escaped.length());
+        for (int i = 0; i < escaped.length(); i++) {
+            char c = escaped.charAt(i);
+            if (c != '\\') {
+                userId.append(c);
+            } else if (i + 1 < escaped.length() && escaped.charAt(i + 1) == '\\') {
+                userId.append('\\');
+                i++;
+            } else if (i + 5 < escaped.length() && escaped.charAt(i + 1) == 'u') {
+                userId.append((char) Integer.parseInt(escaped.substring(i + 2, i + 6), 16));
+                i += 5;
+            } else {
+                throw new IllegalArgumentException("Bad escape in user id: " + escaped);
+            }
+        }
+        return userId.toString();
+    }
+
+    private int userOrdinal(String userId, Map<String, Integer> newUsers) {
+        String key = userId != null ? userId : "";
+        Integer ordinal = ordinalsByUserId.get(key);
+        if (ordinal == null) {
+            ordinal = newUsers.computeIfAbsent(key, k -> userIds.length + newUsers.size());
+        }
+        return ordinal;
+    }
+
+    /**
+     * Absences recorded in any run that overlap the inclusive range, optionally of one user, sorted by start day.
+     * The same absence appears once per run that recorded it until the runs are compacted.
+     */
+    public List<AbsenceHistoryRecord> find(LocalDate from, LocalDate to, String userId) throws IOException {
+        if (!enabled) {
+            return List.of();
+        }
+        try {
+            return scan(from, to, userId);
+        } catch (NoSuchFileException e) {
+            // A compaction replaced a segment while it was being scanned; the new segment list has the same records.
+            return scan(from, to, userId);
+        }
+    }
+
+    private List<AbsenceHistoryRecord> scan(LocalDate from, LocalDate to, String userId) throws IOException {
+        int fromDay = Math.toIntExact(from.toEpochDay());
+        int toDay = Math.toIntExact(to.toEpochDay());
+        int user = -1;
+        if (userId != null) {
+            Integer ordinal = ordinalsByUserId.get(userId);
+            if (ordinal == null) {
+                return List.of();
+            }
+            user = ordinal;
+        }
+
+        String[] ids = userIds;
+        List<AbsenceHistoryRecord> found = new ArrayList<>();
+        int scanned = 0;
+        for (Segment segment : segments) {
+            if (segment.minFromDay > toDay || segment.maxUntilDay < fromDay) {
+                continue;
+            }
+            scanned++;
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment.file));
+            for (int i = 0; i < segment.count; i++) {
+                int position = HEADER_BYTES + i * RECORD_BYTES;
+                int recordUser = buffer.getInt(position);
+                int recordFrom = buffer.getInt(position + 4);
+                int recordUntil = buffer.getInt(position + 8);
+                if (recordFrom <= toDay && recordUntil >= fromDay && (user < 0 || recordUser == user)) {
+                    byte status = buffer.get(position + 16);
+                    found.add(new AbsenceHistoryRecord(recordUser < ids.length ? ids[recordUser] : null,
+                            LocalDate.ofEpochDay(recordFrom), LocalDate.ofEpochDay(recordUntil),
+                            LocalDate.ofEpochDay(buffer.getInt(position + 12)),
+                            status >= 0 && status < STATUS_NAMES.length ? STATUS_NAMES[status] : STATUS_NAMES[0]));
+                }
+            }
+        }
+        found.sort(Comparator.comparing(AbsenceHistoryRecord::getAbsentFrom));
+        logger.debug("History query {} to {} scanned {} of {} segments, found {}", from, to, scanned, segments.size(), found.size());
+        return found;
+    }
+
+    /**
+     * Merges the run segments into the per-year segments of the years they touch. Records are sorted by start day and
+     * an absence recorded by several runs is kept once, with the day it was first recorded.
+     */
+    public synchronized void compact() throws IOException {
+        List<Segment> current = segments;
+        List<Segment> runSegments = current.stream().filter(segment -> !segment.compacted).toList();
+        if (runSegments.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+
+        Map<Integer, Records> byYear = new TreeMap<>();
+        for (Segment segment : runSegments) {
+            readInto(segment, byYear);
+        }
+        List<Segment> replaced = new ArrayList<>(runSegments);
+        for (Segment segment : current) {
+            if (segment.compacted && byYear.containsKey(yearOf(segment.minFromDay))) {
+                readInto(segment, byYear);
+                replaced.add(segment);
+            }
+        }
+
+        List<Segment> updated = new ArrayList<>(current);
+        updated.removeAll(replaced);
+        for (Records records : byYear.values()) {
+            updated.add(writeSegment(records.sortedDistinct(), true));
+        }
+        updated.sort(Comparator.comparingLong(segment -> segment.sequence));
+        segments = List.copyOf(updated);
+
+        for (Segment segment : replaced) {
+            Files.deleteIfExists(segment.file);
+        }
+        logger.info("Compacted {} history segments into {} in {} ms", replaced.size(), byYear.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    private void readInto(Segment segment, Map<Integer, Records> byYear) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment.file));
+        for (int i = 0; i < segment.count; i++) {
+            int position = HEADER_BYTES + i * RECORD_BYTES;
+            int from = buffer.getInt(position + 4);
+            byYear.computeIfAbsent(yearOf(from), year -> new Records(segment.count))
+                    .add(buffer.getInt(position), from, buffer.getInt(position + 8), buffer.getInt(position + 12),
+                            buffer.get(position + 16));
+        }
+    }
+
+    private static int yearOf(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay).getYear();
+    }
+
+    private Segment writeSegment(Records records, boolean compacted) throws IOException {
+        int minFrom = Integer.MAX_VALUE;
+        int maxUntil = Integer.MIN_VALUE;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + records.size * RECORD_BYTES);
+        buffer.position(HEADER_BYTES);
+        for (int i = 0; i < records.size; i++) {
+            buffer.putInt(records.users[i]).putInt(records.froms[i]).putInt(records.untils[i])
+                    .putInt(records.recorded[i]).put(records.statuses[i]);
+            minFrom = Math.min(minFrom, records.froms[i]);
+            maxUntil = Math.max(maxUntil, records.untils[i]);
+        }
+        long createdAt = System.currentTimeMillis();
+        buffer.putInt(0, MAGIC).putInt(4, FORMAT_VERSION).putInt(8, records.size).putInt(12, minFrom)
+                .putInt(16, maxUntil).putInt(20, compacted ? 1 : 0).putLong(24, createdAt);
+        buffer.rewind();
+
+        long sequence = nextSequence++;
+        Path file = directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        Path partial = directory.resolve(file.getFileName() + ".part");
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+        return new Segment(file, sequence, records.size, minFrom, maxUntil, compacted);
+    }
+
+    private static Segment readHeader(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Not an absence history segment: " + file);
+            }
+            int count = header.getInt(8);
+            if (channel.size() != HEADER_BYTES + (long) count * RECORD_BYTES) {
+                throw new IOException("Truncated absence history segment: " + file);
+            }
+            String name = file.getFileName().toString();
+            long sequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            return new Segment(file, sequence, count, header.getInt(12), header.getInt(16), header.getInt(20) == 1);
+        }
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final long sequence;
+        private final int count;
+        private final int minFromDay;
+        private final int maxUntilDay;
+        private final boolean compacted;
+
+        Segment(Path file, long sequence, int count, int minFromDay, int maxUntilDay, boolean compacted) {
+            this.file = file;
+            this.sequence = sequence;
+            this.count = count;
+            this.minFromDay = minFromDay;
+            this.maxUntilDay = maxUntilDay;
+            this.compacted = compacted;
+        }
+    }
+
+    private static final class Records {
+        private int[] users;
+        private int[] froms;
+        private int[] untils;
+        private int[] recorded;
+        private byte[] statuses;
+        private int size;
+
+        Records(int capacity) {
+            int initial = Math.max(16, capacity);
+            users = new int[initial];
+            froms = new int[initial];
+            untils = new int[initial];
+            recorded = new int[initial];
+            statuses = new byte[initial];
+        }
+
+        void add(int user, int from, int until, int recordedDay, byte status) {
+            if (size == users.length) {
+                int capacity = size * 2;
+                users = Arrays.copyOf(users, capacity);
+                froms = Arrays.copyOf(froms, capacity);
+                untils = Arrays.copyOf(untils, capacity);
+                recorded = Arrays.copyOf(recorded, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            users[size] = user;
+            froms[size] = from;
+            untils[size] = until;
+            recorded[size] = recordedDay;
+            statuses[size] = status;
+            size++;
+        }
+
+        Records sortedDistinct() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingInt(i -> froms[i])
+                    .thenComparingInt(i -> users[i])
+                    .thenComparingInt(i -> untils[i])
+                    .thenComparingInt(i -> statuses[i])
+                    .thenComparingInt(i -> recorded[i]));
+
+            Records distinct = new Records(size);
+            for (int k = 0; k < size; k++) {
+                int i = order[k];
+                int last = distinct.size - 1;
+                if (last >= 0 && distinct.froms[last] == froms[i] && distinct.users[last] == users[i]
+                        && distinct.untils[last] == untils[i] && distinct.statuses[last] == statuses[i]) {
+                    continue;
+                }
+                distinct.add(users[i], froms[i], untils[i], recorded[i], statuses[i]);
+            }
+            return distinct;
+        }
+    }
+}
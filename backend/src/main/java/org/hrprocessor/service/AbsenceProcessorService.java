@@ -18,24 +18,33 @@ public class AbsenceProcessorService {
     {
         logger.info("Processing {} absences with {} employees", absences.size(), employees.size());
 
+        return processAbsences(absences, createEmployeeIndex(employees));
+    }
 
+    public List<AbsenceResult> processAbsences(List<Absence> absences, EmployeeIndex employeeIndex)
+    {
         List<AbsenceResult> results=new ArrayList<>();
-        Map<String,Employee> employeeMap=createEmployeeMap(employees);
 
         int matchedCount = 0;
         int unmatchedCount = 0;
+        // An off-heap index decodes a new String on every call; resolve each employee once so that all results for
+        // the same person share the same instances.
+        Map<Integer, String[]> identities = new HashMap<>();
 
 
         for(Absence absence:absences)
         {
-            String nameKey=createNameKey(absence.getFirstName(),absence.getLastName());
-            Employee employee=employeeMap.get(nameKey);
+            int ordinal=employeeIndex.find(absence.getFirstName(),absence.getLastName());
 
-            if(employee!=null)
+            if(ordinal>=0)
             {
+                String[] identity=identities.computeIfAbsent(ordinal,
+                        o -> new String[]{employeeIndex.getUserId(o), employeeIndex.getEmail(o)});
+                String userId=identity[0];
+                String email=identity[1];
                 AbsenceResult result=new AbsenceResult();
-                result.setUserId(employee.getUserId());
-                result.setEmail(employee.getEmail());
+                result.setUserId(userId);
+                result.setEmail(email);
                 result.setAbsentFrom(absence.getStartDate());
                 result.setAbsentUntil(absence.getEndDate());
 
@@ -44,7 +53,7 @@ public class AbsenceProcessorService {
 
                 logger.debug("Matched: {} {} -> {} ({})",
                         absence.getFirstName(), absence.getLastName(),
-                        employee.getUserId(), employee.getEmail());
+                        userId, email);
             }
             else {
                 unmatchedCount++;
@@ -52,26 +61,54 @@ public class AbsenceProcessorService {
 
             }
         }
+        logger.debug("Matched {} absences, {} without employee", matchedCount, unmatchedCount);
         return results;
     }
 
-    private Map<String, Employee> createEmployeeMap(List<Employee> employees) {
-        logger.debug("Creating employee map from {} employees", employees.size());
-
-        Map<String,Employee> map=new HashMap<>();
+    /**
+     * Columnar variant: the employee lookup is done once per distinct name pair of the batch and the result only
+     * records the matched ordinal and the dates.
+     */
+    public AbsenceResultBatch processAbsences(AbsenceBatch absences, EmployeeIndex employeeIndex)
+    {
+        AbsenceResultBatch results=new AbsenceResultBatch(employeeIndex, absences.size());
+        Map<Long, Integer> ordinals=new HashMap<>();
+        int unmatchedCount=0;
 
-        for(Employee employee:employees)
+        for(int row=0;row<absences.size();row++)
         {
-            String nameKey=createNameKey(employee.getFirstName(),employee.getLastName());
-            map.put(nameKey,employee);
+            long pair=((long) absences.getFirstNameId(row)<<32)|absences.getLastNameId(row);
+            Integer ordinal=ordinals.get(pair);
+            if(ordinal==null)
+            {
+                ordinal=employeeIndex.find(absences.getFirstName(row),absences.getLastName(row));
+                ordinals.put(pair,ordinal);
+            }
+
+            if(ordinal>=0)
+            {
+                results.add(ordinal,absences.getStartDay(row),absences.getEndDay(row));
+            }
+            else {
+                unmatchedCount++;
+                logger.error("No match found for: {} {}", absences.getFirstName(row), absences.getLastName(row));
+            }
         }
-        logger.debug("Employee map created with {} entries", map.size());
+        logger.debug("Matched {} absences, {} without employee", results.size(), unmatchedCount);
+        return results;
+    }
+
+    public EmployeeIndex createEmployeeIndex(List<Employee> employees) {
+        logger.debug("Creating employee index from {} employees", employees.size());
+
+        EmployeeIndex index=new HeapEmployeeIndex(employees);
+        logger.debug("Employee index created with {} entries", index.distinctNameKeys());
 
-        return map;
+        return index;
     }
 
-    private String createNameKey(String firstName, String lastName) {
-        String key = (firstName + " " + lastName).toLowerCase().trim();
+    public String createNameKey(String firstName, String lastName) {
+        String key = EmployeeIndex.nameKey(firstName, lastName);
         logger.trace("Created name key: '{}' from '{}' '{}'", key, firstName, lastName);
         return key;
     }
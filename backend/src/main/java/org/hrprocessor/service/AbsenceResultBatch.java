@@ -0,0 +1,161 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.AbsenceResult;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Matched absences held column-wise: the employee as an ordinal into the index they were matched against, and the
+ * dates as epoch days. User id and email are looked up in the index when a row is written. A batch made from
+ * {@code AbsenceResult}s with {@link #of(List)} has no index and keeps the strings per row instead.
+ */
+public final class AbsenceResultBatch {
+
+    private final EmployeeIndex employeeIndex;
+    private int[] ordinals;
+    private int[] fromDays;
+    private int[] untilDays;
+    private String[] userIds;
+    private String[] emails;
+    private int size;
+
+    public AbsenceResultBatch(EmployeeIndex employeeIndex, int capacity) {
+        this.employeeIndex = employeeIndex;
+        int initial = Math.max(16, capacity);
+        this.ordinals = new int[initial];
+        this.fromDays = new int[initial];
+        this.untilDays = new int[initial];
+        if (employeeIndex == null) {
+            this.userIds = new String[initial];
+            this.emails = new String[initial];
+        }
+    }
+
+    public static AbsenceResultBatch of(List<AbsenceResult> results) {
+        AbsenceResultBatch batch = new AbsenceResultBatch(null, results.size());
+        for (AbsenceResult result : results) {
+            batch.add(result.getUserId(), result.getEmail(), AbsenceBatch.epochDay(result.getAbsentFrom()),
+                    AbsenceBatch.epochDay(result.getAbsentUntil()));
+        }
+        return batch;
+    }
+
+    public void add(int ordinal, int fromDay, int untilDay) {
+        if (employeeIndex == null) {
+            throw new IllegalStateException("Batch has no employee index");
+        }
+        int row = next();
+        ordinals[row] = ordinal;
+        fromDays[row] = fromDay;
+        untilDays[row] = untilDay;
+    }
+
+    private void add(String userId, String email, int fromDay, int untilDay) {
+        int row = next();
+        userIds[row] = userId;
+        emails[row] = email;
+        fromDays[row] = fromDay;
+        untilDays[row] = untilDay;
+    }
+
+    /** An empty batch matched against the same index, or detached like this one. */
+    AbsenceResultBatch emptyCopy(int capacity) {
+        return new AbsenceResultBatch(employeeIndex, capacity);
+    }
+
+    /** Appends the employee of a row of another batch with new dates. */
+    void addFrom(AbsenceResultBatch other, int otherRow, int fromDay, int untilDay) {
+        if (other.employeeIndex != employeeIndex) {
+            throw new IllegalArgumentException("Batches were matched against different employee indexes");
+        }
+        if (employeeIndex != null) {
+            add(other.ordinals[otherRow], fromDay, untilDay);
+        } else {
+            add(other.userIds[otherRow], other.emails[otherRow], fromDay, untilDay);
+        }
+    }
+
+    /** Appends the rows of another batch matched against the same index. */
+    public void addAll(AbsenceResultBatch other) {
+        if (other.employeeIndex != employeeIndex) {
+            throw new IllegalArgumentException("Batches were matched against different employee indexes");
+        }
+        for (int i = 0; i < other.size; i++) {
+            int row = next();
+            ordinals[row] = other.ordinals[i];
+            fromDays[row] = other.fromDays[i];
+            untilDays[row] = other.untilDays[i];
+            if (employeeIndex == null) {
+                userIds[row] = other.userIds[i];
+                emails[row] = other.emails[i];
+            }
+        }
+    }
+
+    private int next() {
+        if (size == ordinals.length) {
+            int capacity = size * 2;
+            ordinals = Arrays.copyOf(ordinals, capacity);
+            fromDays = Arrays.copyOf(fromDays, capacity);
+            untilDays = Arrays.copyOf(untilDays, capacity);
+            if (employeeIndex == null) {
+                userIds = Arrays.copyOf(userIds, capacity);
+                emails = Arrays.copyOf(emails, capacity);
+            }
+        }
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public EmployeeIndex getEmployeeIndex() {
+        return employeeIndex;
+    }
+
+    public int getOrdinal(int row) {
+        return employeeIndex != null ? ordinals[row] : -1;
+    }
+
+    public String getUserId(int row) {
+        return employeeIndex != null ? employeeIndex.getUserId(ordinals[row]) : userIds[row];
+    }
+
+    public String getEmail(int row) {
+        return employeeIndex != null ? employeeIndex.getEmail(ordinals[row]) : emails[row];
+    }
+
+    public int getFromDay(int row) {
+        return fromDays[row];
+    }
+
+    public int getUntilDay(int row) {
+        return untilDays[row];
+    }
+
+    public AbsenceResult get(int row) {
+        return new AbsenceResult(getUserId(row), getEmail(row), AbsenceBatch.localDate(fromDays[row]),
+                AbsenceBatch.localDate(untilDays[row]));
+    }
+
+    /** Read-only view; every {@code get} builds a new {@code AbsenceResult}. */
+    public List<AbsenceResult> asList() {
+        return new AbstractList<>() {
+            @Override
+            public AbsenceResult get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return AbsenceResultBatch.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
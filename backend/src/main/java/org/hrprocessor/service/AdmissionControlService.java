@@ -0,0 +1,140 @@
+package org.hrprocessor.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits concurrent processing by an estimate of the heap each request needs. The estimate is derived from the
+ * size of the uploaded absences workbook: compressed bytes are converted to rows, rows to the heap the streaming
+ * reader, the columnar batches and the buffered output take per row. Uploads parsed from memory cost far more per
+ * row, because POI inflates the whole package. The employee master is not charged; it is parsed once into the
+ * shared snapshot. Permits are counted in megabytes of that budget, so one very large upload can take the whole
+ * budget while several small ones share it.
+ */
+@Service
+public class AdmissionControlService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlService.class);
+    private static final long MB = 1024 * 1024;
+
+    private final Semaphore memoryPermits;
+    private final Semaphore slots;
+    private final int budgetMb;
+    private final int maxConcurrent;
+    private final long uploadBytesPerRow;
+    private final long heapBytesPerRow;
+    private final long bufferedHeapBytesPerRow;
+    private final long queueTimeoutMs;
+    private final long retryAfterSeconds;
+
+    public AdmissionControlService(int memoryBudgetMb, int maxConcurrent, long uploadBytesPerRow, long heapBytesPerRow,
+                                   long queueTimeoutMs, long retryAfterSeconds) {
+        this(memoryBudgetMb, maxConcurrent, uploadBytesPerRow, heapBytesPerRow, heapBytesPerRow, queueTimeoutMs, retryAfterSeconds);
+    }
+
+    @Autowired
+    public AdmissionControlService(@Value("${hr.processor.admission.memory-budget-mb:0}") int memoryBudgetMb,
+                                   @Value("${hr.processor.admission.max-concurrent:4}") int maxConcurrent,
+                                   @Value("${hr.processor.admission.upload-bytes-per-row:64}") long uploadBytesPerRow,
+                                   @Value("${hr.processor.admission.heap-bytes-per-row:128}") long heapBytesPerRow,
+                                   @Value("${hr.processor.admission.buffered-heap-bytes-per-row:2048}") long bufferedHeapBytesPerRow,
+                                   @Value("${hr.processor.admission.queue-timeout-ms:5000}") long queueTimeoutMs,
+                                   @Value("${hr.processor.admission.retry-after-seconds:30}") long retryAfterSeconds) {
+        this.budgetMb = memoryBudgetMb > 0 ? memoryBudgetMb : (int) Math.max(1, Runtime.getRuntime().maxMemory() * 6 / 10 / MB);
+        this.maxConcurrent = maxConcurrent;
+        this.uploadBytesPerRow = Math.max(1, uploadBytesPerRow);
+        this.heapBytesPerRow = heapBytesPerRow;
+        this.bufferedHeapBytesPerRow = bufferedHeapBytesPerRow;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.memoryPermits = new Semaphore(budgetMb, true);
+        this.slots = new Semaphore(maxConcurrent, true);
+
+        logger.info("Admission control: memory budget {} MB, max {} concurrent jobs, {} heap bytes per row ({} when buffered)",
+                budgetMb, maxConcurrent, heapBytesPerRow, bufferedHeapBytesPerRow);
+    }
+
+    public int estimateCostMb(long uploadBytes) {
+        return estimateCostMb(uploadBytes, false);
+    }
+
+    /** @param buffered whether the workbook is parsed from memory rather than streamed from a file */
+    public int estimateCostMb(long uploadBytes, boolean buffered) {
+        long rows = uploadBytes / uploadBytesPerRow;
+        long costMb = (rows * (buffered ? bufferedHeapBytesPerRow : heapBytesPerRow) + MB - 1) / MB;
+        return (int) Math.min(budgetMb, Math.max(1, costMb));
+    }
+
+    public Permit acquire(long uploadBytes) throws InterruptedException {
+        return acquire(uploadBytes, false);
+    }
+
+    public Permit acquire(long uploadBytes, boolean buffered) throws InterruptedException {
+        int costMb = estimateCostMb(uploadBytes, buffered);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+
+        if (!slots.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+            logger.warn("Rejecting job of {} MB: all {} processing slots busy", costMb, maxConcurrent);
+            throw new AdmissionRejectedException("All processing slots are busy", retryAfterSeconds);
+        }
+
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        if (!memoryPermits.tryAcquire(costMb, remaining, TimeUnit.NANOSECONDS)) {
+            slots.release();
+            logger.warn("Rejecting job of {} MB: only {} of {} MB available", costMb, memoryPermits.availablePermits(), budgetMb);
+            throw new AdmissionRejectedException("Not enough memory available to process the file", retryAfterSeconds);
+        }
+
+        logger.debug("Admitted job of {} MB ({} MB left)", costMb, memoryPermits.availablePermits());
+        return new Permit(costMb);
+    }
+
+    public int getAvailableMb() {
+        return memoryPermits.availablePermits();
+    }
+
+    public int getBudgetMb() {
+        return budgetMb;
+    }
+
+    public int getActiveJobs() {
+        return maxConcurrent - slots.availablePermits();
+    }
+
+    public int getQueuedJobs() {
+        return slots.getQueueLength() + memoryPermits.getQueueLength();
+    }
+
+    /** Seconds a client is told to wait before retrying a job that could not be taken on. */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public class Permit implements AutoCloseable {
+        private final int costMb;
+        private boolean released;
+
+        private Permit(int costMb) {
+            this.costMb = costMb;
+        }
+
+        public int getCostMb() {
+            return costMb;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                memoryPermits.release(costMb);
+                slots.release();
+            }
+        }
+    }
+}
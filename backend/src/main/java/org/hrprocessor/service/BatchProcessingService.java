@@ -0,0 +1,151 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.model.BatchFileSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Processes several absence workbooks against one employee index. Each file is parsed and matched on the given
+ * executor; results are merged in input order so the output does not depend on which file finished first.
+ * A file that fails to parse is reported in its summary and does not fail the batch.
+ */
+public class BatchProcessingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchProcessingService.class);
+
+    private final WorkbookReader excelReader;
+    private final AbsenceProcessorService processor;
+    private final ExecutorService executor;
+
+    public BatchProcessingService(WorkbookReader excelReader, AbsenceProcessorService processor, ExecutorService executor) {
+        this.excelReader = excelReader;
+        this.processor = processor;
+        this.executor = executor;
+    }
+
+    public BatchResult process(List<BatchInput> inputs, EmployeeIndex employeeIndex) throws InterruptedException {
+        logger.info("Processing batch of {} absence files against {} employees", inputs.size(), employeeIndex.size());
+
+        List<Future<FileResult>> futures = new ArrayList<>(inputs.size());
+        try {
+            for (BatchInput input : inputs) {
+                futures.add(executor.submit(() -> processFile(input, employeeIndex)));
+            }
+        } catch (RejectedExecutionException e) {
+            // The caller gives up on the batch, so the files already submitted must not keep running
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+        BatchResult batchResult = new BatchResult(employeeIndex);
+        for (int i = 0; i < futures.size(); i++) {
+            FileResult fileResult;
+            try {
+                fileResult = futures.get(i).get();
+            } catch (ExecutionException e) {
+                fileResult = new FileResult(new BatchFileSummary(inputs.get(i).getName()), null);
+                fileResult.summary.setError(String.valueOf(e.getCause().getMessage()));
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+            if (fileResult.results != null) {
+                batchResult.results.addAll(fileResult.results);
+            }
+            batchResult.summaries.add(fileResult.summary);
+        }
+
+        logger.info("Batch finished: {} results from {} files", batchResult.results.size(), inputs.size());
+        return batchResult;
+    }
+
+    private FileResult processFile(BatchInput input, EmployeeIndex employeeIndex) {
+        long start = System.currentTimeMillis();
+        BatchFileSummary summary = new BatchFileSummary(input.getName());
+
+        try {
+            AbsenceBatch absences = excelReader.readAbsenceBatch(input.getPath().toString(), input.getSheets());
+            AbsenceResultBatch results = processor.processAbsences(absences, employeeIndex);
+
+            summary.setAbsencesRead(absences.size());
+            summary.setMatched(results.size());
+            summary.setUnmatched(absences.size() - results.size());
+            summary.setDurationMs(System.currentTimeMillis() - start);
+            return new FileResult(summary, results);
+        } catch (Exception e) {
+            logger.error("Error processing batch file {}", input.getName(), e);
+            summary.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            summary.setDurationMs(System.currentTimeMillis() - start);
+            return new FileResult(summary, null);
+        }
+    }
+
+    public static class BatchInput {
+        private final String name;
+        private final Path path;
+        private final List<String> sheets;
+
+        public BatchInput(String name, Path path) {
+            this(name, path, null);
+        }
+
+        /** @param sheets sheet selection as understood by {@link StreamingExcelReaderService}, null for the first sheet */
+        public BatchInput(String name, Path path, List<String> sheets) {
+            this.name = name;
+            this.path = path;
+            this.sheets = sheets;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public List<String> getSheets() {
+            return sheets;
+        }
+    }
+
+    public static class BatchResult {
+        private final AbsenceResultBatch results;
+        private final List<BatchFileSummary> summaries = new ArrayList<>();
+
+        private BatchResult(EmployeeIndex employeeIndex) {
+            this.results = new AbsenceResultBatch(employeeIndex, 0);
+        }
+
+        public List<AbsenceResult> getResults() {
+            return results.asList();
+        }
+
+        public AbsenceResultBatch getResultBatch() {
+            return results;
+        }
+
+        public List<BatchFileSummary> getSummaries() {
+            return summaries;
+        }
+    }
+
+    private static class FileResult {
+        private final BatchFileSummary summary;
+        private final AbsenceResultBatch results;
+
+        private FileResult(BatchFileSummary summary, AbsenceResultBatch results) {
+            this.summary = summary;
+            this.results = results;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.CapacityPeriod;
+import org.hrprocessor.model.CapacityReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Planned, absent and available working hours of the whole workforce per day or week. Each working day gets a bitmap
+ * of the ordinals of the employees absent on it, so overlapping absences of one employee count once and a week is the
+ * union of its days. Hours are weighted by the employee's weekly working hours spread over Monday to Friday;
+ * public holidays of the {@link WorkingDayCalendar} are planned as days off.
+ */
+public class CapacityCalculator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapacityCalculator.class);
+
+    public static final String DAY = "day";
+    public static final String WEEK = "week";
+
+    /** Assumed for employees whose master row has no weekly working hours. */
+    public static final int DEFAULT_WEEKLY_HOURS = 40;
+    public static final int MAX_DAYS = 732;
+
+    private static final int WORKING_DAYS_PER_WEEK = 5;
+    private static final double FULL_TIME_DAY_HOURS = (double) DEFAULT_WEEKLY_HOURS / WORKING_DAYS_PER_WEEK;
+
+    /** Covers the days from the earliest start to the latest end in the results, at most {@link #MAX_DAYS}. */
+    public CapacityReport calculate(AbsenceResultBatch results, String granularity) {
+        int fromDay = Integer.MAX_VALUE;
+        int toDay = Integer.MIN_VALUE;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.getFromDay(i) != AbsenceBatch.NO_DATE && results.getUntilDay(i) != AbsenceBatch.NO_DATE) {
+                fromDay = Math.min(fromDay, results.getFromDay(i));
+                toDay = Math.max(toDay, results.getUntilDay(i));
+            }
+        }
+        if (fromDay > toDay) {
+            fromDay = toDay = Math.toIntExact(LocalDate.now().toEpochDay());
+        }
+        if (toDay - fromDay >= MAX_DAYS) {
+            logger.warn("Absences span {} days, capacity is limited to the first {}", toDay - fromDay + 1, MAX_DAYS);
+            toDay = fromDay + MAX_DAYS - 1;
+        }
+        return calculate(results, LocalDate.ofEpochDay(fromDay), LocalDate.ofEpochDay(toDay), granularity);
+    }
+
+    public CapacityReport calculate(AbsenceResultBatch results, LocalDate from, LocalDate to, String granularity) {
+        EmployeeIndex index = results.getEmployeeIndex();
+        if (index == null) {
+            throw new IllegalArgumentException("Capacity needs results matched against an employee index");
+        }
+        boolean weekly = WEEK.equalsIgnoreCase(granularity);
+        if (!weekly && granularity != null && !DAY.equalsIgnoreCase(granularity)) {
+            throw new IllegalArgumentException("Unknown granularity '" + granularity + "', expected day or week");
+        }
+        int fromDay = Math.toIntExact(from.toEpochDay());
+        int toDay = Math.toIntExact(to.toEpochDay());
+        if (fromDay > toDay) {
+            throw new IllegalArgumentException("Capacity range starts after it ends: " + from + " > " + to);
+        }
+        if (toDay - fromDay >= MAX_DAYS) {
+            throw new IllegalArgumentException("Capacity range is limited to " + MAX_DAYS + " days");
+        }
+
+        long start = System.nanoTime();
+        WorkingDayCalendar calendar = WorkingDayCalendar.current();
+        double[] dailyHours = new double[index.size()];
+        double workforceDailyHours = 0;
+        for (int ordinal = 0; ordinal < dailyHours.length; ordinal++) {
+            int weeklyHours = index.getWeeklyWorkingHours(ordinal);
+            dailyHours[ordinal] = (double) (weeklyHours > 0 ? weeklyHours : DEFAULT_WEEKLY_HOURS) / WORKING_DAYS_PER_WEEK;
+            workforceDailyHours += dailyHours[ordinal];
+        }
+
+        BitSet[] absent = new BitSet[toDay - fromDay + 1];
+        for (int i = 0; i < results.size(); i++) {
+            int first = results.getFromDay(i);
+            int last = results.getUntilDay(i);
+            if (first == AbsenceBatch.NO_DATE || last == AbsenceBatch.NO_DATE) {
+                continue;
+            }
+            int ordinal = results.getOrdinal(i);
+            for (int day = Math.max(first, fromDay); day <= Math.min(last, toDay); day++) {
+                if (calendar.isWorkingDay(day)) {
+                    int d = day - fromDay;
+                    if (absent[d] == null) {
+                        absent[d] = new BitSet();
+                    }
+                    absent[d].set(ordinal);
+                }
+            }
+        }
+
+        List<CapacityPeriod> periods = new ArrayList<>();
+        int periodStart = fromDay;
+        while (periodStart <= toDay) {
+            int periodEnd = weekly ? Math.min(toDay, periodStart + 6 - dayOfWeek(periodStart)) : periodStart;
+            BitSet union = new BitSet();
+            int workingDays = 0;
+            double absentHours = 0;
+            for (int day = periodStart; day <= periodEnd; day++) {
+                if (!calendar.isWorkingDay(day)) {
+                    continue;
+                }
+                workingDays++;
+                BitSet bits = absent[day - fromDay];
+                if (bits != null) {
+                    for (int ordinal = bits.nextSetBit(0); ordinal >= 0; ordinal = bits.nextSetBit(ordinal + 1)) {
+                        absentHours += dailyHours[ordinal];
+                    }
+                    union.or(bits);
+                }
+            }
+            double plannedHours = workforceDailyHours * workingDays;
+            double fte = workingDays > 0 ? (plannedHours - absentHours) / (FULL_TIME_DAY_HOURS * workingDays) : 0;
+            periods.add(new CapacityPeriod(LocalDate.ofEpochDay(periodStart), LocalDate.ofEpochDay(periodEnd), workingDays,
+                    union.cardinality(), round(plannedHours), round(absentHours), round(fte)));
+            periodStart = periodEnd + 1;
+        }
+
+        logger.info("Calculated {} capacity for {} employees from {} to {} in {} ms", weekly ? WEEK : DAY, index.size(),
+                from, to, (System.nanoTime() - start) / 1_000_000);
+        return new CapacityReport(from, to, weekly ? WEEK : DAY, index.size(), periods);
+    }
+
+    /** Monday is 0; epoch day 0 was a Thursday. */
+    static int dayOfWeek(int epochDay) {
+        return Math.floorMod(epochDay + 3, 7);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,249 @@
+package org.hrprocessor.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Where the fields of an absences or employees sheet are. The readers look for the header row by column name (with
+ * aliases) and resolve every field to a column index once, so the row loop only does array lookups. A sheet whose
+ * first rows contain no recognisable header keeps the historical fixed positions.
+ */
+public final class ColumnLayout {
+
+    public static final int ABSENCE_FIRST_NAME = 0;
+    public static final int ABSENCE_LAST_NAME = 1;
+    public static final int ABSENCE_TIME_TYPE = 2;
+    public static final int ABSENCE_START_DATE = 3;
+    public static final int ABSENCE_END_DATE = 4;
+    public static final int ABSENCE_APPROVAL_STATUS = 5;
+
+    public static final int EMPLOYEE_USER_ID = 0;
+    public static final int EMPLOYEE_LAST_NAME = 1;
+    public static final int EMPLOYEE_FIRST_NAME = 2;
+    public static final int EMPLOYEE_EMAIL = 3;
+    public static final int EMPLOYEE_WEEKLY_HOURS = 4;
+
+    public static final Detector ABSENCES = new Detector("absences", 2,
+            new String[]{"firstName", "lastName", "timeType", "startDate", "endDate", "approvalStatus"},
+            new int[]{3, 5, 7, 8, 10, 16},
+            new boolean[]{true, true, true, true, true, true},
+            new String[][]{
+                    {"First Name", "Firstname", "Given Name"},
+                    {"Last Name", "Lastname", "Surname", "Family Name"},
+                    {"Time Type (Label)", "Time Type"},
+                    {"startDate", "Start Date"},
+                    {"endDate", "End Date"},
+                    {"approvalStatus", "Approval Status", "Status"}});
+
+    public static final Detector EMPLOYEES = new Detector("employees", 0,
+            new String[]{"userId", "lastName", "firstName", "email", "weeklyWorkingHours"},
+            new int[]{0, 1, 2, 3, 4},
+            new boolean[]{true, true, true, true, false},
+            new String[][]{
+                    {"USER-ID", "userId", "User"},
+                    {"last name", "Lastname", "Surname", "Family Name"},
+                    {"first name", "Firstname", "Given Name"},
+                    {"Email", "Email Address", "Mail"},
+                    {"Weekly working hours", "Weekly hours", "Standard Weekly Hours"}});
+
+    private final int headerRow;
+    private final int[] columns;
+    private final boolean detected;
+
+    private ColumnLayout(int headerRow, int[] columns, boolean detected) {
+        this.headerRow = headerRow;
+        this.columns = columns;
+        this.detected = detected;
+    }
+
+    public int getFirstDataRow() {
+        return headerRow + 1;
+    }
+
+    /** Column index of the field, or -1 when an optional field is not in the sheet. */
+    public int column(int field) {
+        return columns[field];
+    }
+
+    public boolean isDetected() {
+        return detected;
+    }
+
+    /**
+     * Adds aliases from a spec such as {@code absences.approvalStatus=Status|State;employees.email=Mail}. Field names
+     * are the ones used in log messages; header names are compared ignoring case, spaces and punctuation.
+     */
+    public static void configureAliases(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return;
+        }
+        for (String entry : spec.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int eq = entry.indexOf('=');
+            int dot = entry.indexOf('.');
+            if (eq < 0 || dot < 0 || dot > eq) {
+                throw new IllegalArgumentException("Invalid column alias '" + entry.trim() + "', expected <sheet>.<field>=<name>[|<name>...]");
+            }
+            String sheet = entry.substring(0, dot).trim();
+            Detector detector = ABSENCES.name.equalsIgnoreCase(sheet) ? ABSENCES
+                    : EMPLOYEES.name.equalsIgnoreCase(sheet) ? EMPLOYEES : null;
+            if (detector == null) {
+                throw new IllegalArgumentException("Unknown sheet '" + sheet + "' in column alias, expected absences or employees");
+            }
+            detector.addAliases(entry.substring(dot + 1, eq).trim(), entry.substring(eq + 1).split("\\|"));
+        }
+    }
+
+    static String normalize(String header) {
+        StringBuilder sb = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnLayout{" +
+                "headerRow=" + headerRow +
+                ", columns=" + Arrays.toString(columns) +
+                ", detected=" + detected +
+                '}';
+    }
+
+    /**
+     * Finds the layout of one kind of sheet. Results are cached by header row signature, so a new export format is
+     * matched against the aliases once and every later file with the same header is a single map lookup.
+     */
+    public static final class Detector {
+
+        private static final Logger logger = LoggerFactory.getLogger(ColumnLayout.class);
+        private static final int CACHE_LIMIT = 256;
+        private static final ColumnLayout NOT_A_HEADER = new ColumnLayout(-1, new int[0], false);
+
+        private final String name;
+        private final String[] fields;
+        private final boolean[] required;
+        private final List<Set<String>> aliases = new ArrayList<>();
+        private final ColumnLayout legacy;
+        private final Map<String, ColumnLayout> cache = new ConcurrentHashMap<>();
+
+        private Detector(String name, int legacyHeaderRow, String[] fields, int[] legacyColumns, boolean[] required, String[][] defaultAliases) {
+            this.name = name;
+            this.fields = fields;
+            this.required = required;
+            this.legacy = new ColumnLayout(legacyHeaderRow, legacyColumns, false);
+            for (String[] names : defaultAliases) {
+                Set<String> normalized = ConcurrentHashMap.newKeySet();
+                for (String alias : names) {
+                    normalized.add(normalize(alias));
+                }
+                aliases.add(normalized);
+            }
+        }
+
+        /** The historical fixed positions; header detection only looks at rows above its first data row. */
+        public ColumnLayout legacy() {
+            return legacy;
+        }
+
+        /**
+         * Returns the layout described by this row if it is a header, or {@code null} if it is not one. A row that
+         * names some of the fields but not all required ones is a header HR has changed, and is rejected rather than
+         * read with columns that no longer mean what they used to.
+         */
+        public ColumnLayout detect(int rowIndex, String[] cells) {
+            StringBuilder signature = new StringBuilder(cells.length * 12).append(rowIndex);
+            String[] normalized = new String[cells.length];
+            for (int c = 0; c < cells.length; c++) {
+                normalized[c] = cells[c] == null ? "" : normalize(cells[c]);
+                signature.append('|').append(normalized[c]);
+            }
+            String key = signature.toString();
+
+            ColumnLayout layout = cache.get(key);
+            if (layout == null) {
+                layout = match(rowIndex, normalized);
+                if (cache.size() >= CACHE_LIMIT) {
+                    cache.clear();
+                }
+                cache.put(key, layout);
+            }
+            return layout == NOT_A_HEADER ? null : layout;
+        }
+
+        private ColumnLayout match(int rowIndex, String[] normalized) {
+            int[] columns = new int[fields.length];
+            Arrays.fill(columns, -1);
+            int found = 0;
+            for (int field = 0; field < fields.length; field++) {
+                Set<String> names = aliases.get(field);
+                for (int c = 0; c < normalized.length && columns[field] < 0; c++) {
+                    if (!normalized[c].isEmpty() && names.contains(normalized[c])) {
+                        columns[field] = c;
+                        found++;
+                    }
+                }
+            }
+            if (found < 2) {
+                return NOT_A_HEADER;
+            }
+
+            List<String> missing = new ArrayList<>();
+            for (int field = 0; field < fields.length; field++) {
+                if (required[field] && columns[field] < 0) {
+                    missing.add(fields[field]);
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("The " + name + " header in row " + (rowIndex + 1) + " has no column for "
+                        + String.join(", ", missing) + "; add an alias with hr.processor.columns.aliases");
+            }
+
+            ColumnLayout layout = new ColumnLayout(rowIndex, columns, true);
+            logger.info("Detected {} column layout from header in row {}: {}", name, rowIndex + 1, describe(columns));
+            return layout;
+        }
+
+        private String describe(int[] columns) {
+            StringBuilder sb = new StringBuilder();
+            for (int field = 0; field < fields.length; field++) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                sb.append(fields[field]).append('=').append(columns[field] < 0 ? "-" : String.valueOf(columns[field] + 1));
+            }
+            return sb.toString();
+        }
+
+        private void addAliases(String field, String[] names) {
+            int index = Arrays.asList(fields).indexOf(field);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown " + name + " field '" + field + "', expected one of " + Arrays.toString(fields));
+            }
+            for (String alias : names) {
+                if (!alias.isBlank()) {
+                    aliases.get(index).add(normalize(alias));
+                }
+            }
+            cache.clear();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.model.BatchFileSummary;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class CsvWriterService {
+
+    public void writeAbsenceResults(List<AbsenceResult> results, OutputStream out) throws IOException {
+        writeAbsenceResults(AbsenceResultBatch.of(results), out);
+    }
+
+    public void writeAbsenceResults(AbsenceResultBatch results, OutputStream out) throws IOException {
+        writeAbsenceResults(results, null, out);
+    }
+
+    /** Adds a "working days" column when a calendar is given. */
+    public void writeAbsenceResults(AbsenceResultBatch results, WorkingDayCalendar workingDays, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(workingDays != null ? "USER-ID,email,absent from,absent until,working days\n" : "USER-ID,email,absent from,absent until\n");
+
+        for (int i = 0; i < results.size(); i++) {
+            writer.append(results.getUserId(i)).append(",").append(results.getEmail(i)).append(",")
+                    .append(DateValues.formatEpochDay(results.getFromDay(i))).append(",")
+                    .append(DateValues.formatEpochDay(results.getUntilDay(i)));
+            if (workingDays != null) {
+                int from = results.getFromDay(i);
+                int until = results.getUntilDay(i);
+                writer.append(",");
+                if (from != AbsenceBatch.NO_DATE && until != AbsenceBatch.NO_DATE) {
+                    writer.append(String.valueOf(workingDays.countWorkingDays(from, until)));
+                }
+            }
+            writer.append("\n");
+        }
+        writer.flush();
+    }
+
+    public void writeBatchSummary(List<BatchFileSummary> summaries, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("file,absences read,matched,unmatched,duration ms,error\n");
+
+        for (BatchFileSummary summary : summaries) {
+            writer.append(escape(summary.getFileName())).append(",")
+                    .append(String.valueOf(summary.getAbsencesRead())).append(",")
+                    .append(String.valueOf(summary.getMatched())).append(",")
+                    .append(String.valueOf(summary.getUnmatched())).append(",")
+                    .append(String.valueOf(summary.getDurationMs())).append(",")
+                    .append(summary.getError() != null ? escape(summary.getError()) : "").append("\n");
+        }
+        writer.flush();
+    }
+
+    private String escape(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,218 @@
+package org.hrprocessor.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Date conversion and plausibility rules shared by the DOM and the streaming reader.
+ */
+final class DateValues {
+
+    private static final Logger logger = LoggerFactory.getLogger(DateValues.class);
+
+    /** Serial 1 is 1900-01-01; Excel counts a 29 February 1900 that never existed, so from serial 61 on the base is a day earlier. */
+    private static final int EXCEL_BASE_DAY = Math.toIntExact(LocalDate.of(1899, 12, 31).toEpochDay());
+    /** Workbooks saved with the 1904 date system (workbookPr date1904, old Mac Excel) count from serial 0 = 1904-01-01. */
+    private static final int EXCEL_1904_BASE_DAY = Math.toIntExact(LocalDate.of(1904, 1, 1).toEpochDay());
+    private static final int MIN_DAY = Math.toIntExact(LocalDate.of(1900, 1, 1).toEpochDay());
+    private static final int MAX_DAY = Math.toIntExact(LocalDate.of(2100, 12, 31).toEpochDay());
+
+    private static volatile Window window;
+
+    private DateValues() {
+    }
+
+    /**
+     * Calendar day of an Excel serial date in the workbook's date system, ignoring the time of day. Pure arithmetic,
+     * so the result does not depend on the server's time zone.
+     */
+    static int epochDayFromExcelSerial(double serial, boolean date1904) {
+        if (!(serial >= 0) || serial > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid Excel date " + serial);
+        }
+        int whole = (int) serial;
+        if (date1904) {
+            return EXCEL_1904_BASE_DAY + whole;
+        }
+        return EXCEL_BASE_DAY + (whole < 61 ? whole : whole - 1);
+    }
+
+    static LocalDate fromExcelSerial(double serial, boolean date1904) {
+        return LocalDate.ofEpochDay(epochDayFromExcelSerial(serial, date1904));
+    }
+
+    /** Output format of the reports, dd.MM.yyyy; an empty string for a missing date. */
+    static String formatEpochDay(int epochDay) {
+        if (epochDay == AbsenceBatch.NO_DATE) {
+            return "";
+        }
+        long date = civil(epochDay);
+        int year = (int) (date >> 16);
+        int month = (int) (date >> 8) & 0xFF;
+        int day = (int) date & 0xFF;
+        if (year < 0 || year > 9999) {
+            return LocalDate.ofEpochDay(epochDay).format(DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+        }
+        char[] chars = {
+                (char) ('0' + day / 10), (char) ('0' + day % 10), '.',
+                (char) ('0' + month / 10), (char) ('0' + month % 10), '.',
+                (char) ('0' + year / 1000), (char) ('0' + year / 100 % 10), (char) ('0' + year / 10 % 10), (char) ('0' + year % 10)};
+        return new String(chars);
+    }
+
+    static LocalDate fromString(String value) {
+        return LocalDate.ofEpochDay(epochDayFromString(value));
+    }
+
+    /**
+     * Accepts d.M.yyyy and yyyy-MM-dd, optionally followed by a time after 'T'. Both are parsed by hand; anything
+     * else goes to {@link LocalDate#parse}, which rejects it with the usual message.
+     */
+    static int epochDayFromString(String value) {
+        String dateStr = value.trim();
+
+        if (dateStr.isEmpty()) {
+            throw new IllegalArgumentException("Date string is empty");
+        }
+        int t = dateStr.indexOf('T');
+        if (t >= 0) {
+            dateStr = dateStr.substring(0, t);
+        }
+
+        int length = dateStr.length();
+        int firstDot = dateStr.indexOf('.');
+        int secondDot = firstDot > 0 ? dateStr.indexOf('.', firstDot + 1) : -1;
+        if (firstDot >= 1 && firstDot <= 2 && secondDot - firstDot >= 2 && secondDot - firstDot <= 3 && length - secondDot == 5) {
+            int day = digits(dateStr, 0, firstDot);
+            int month = digits(dateStr, firstDot + 1, secondDot);
+            int year = digits(dateStr, secondDot + 1, length);
+            if (day >= 0 && month >= 0 && year >= 0) {
+                return epochDay(year, month, day);
+            }
+        }
+        if (length == 10 && dateStr.charAt(4) == '-' && dateStr.charAt(7) == '-') {
+            int year = digits(dateStr, 0, 4);
+            int month = digits(dateStr, 5, 7);
+            int day = digits(dateStr, 8, 10);
+            if (day >= 0 && month >= 0 && year >= 0) {
+                return epochDay(year, month, day);
+            }
+        }
+        return Math.toIntExact(LocalDate.parse(dateStr).toEpochDay());
+    }
+
+    static void validate(LocalDate date) {
+        if (date == null) {
+            throw new RuntimeException("Date cannot be null");
+        }
+        validate(Math.toIntExact(date.toEpochDay()));
+    }
+
+    /**
+     * Plausibility rules for an absence date. Calendar validity is already guaranteed by the conversion, so only the
+     * range checks remain; the bounds that depend on today are computed once per day rather than per row.
+     */
+    static void validate(int epochDay) {
+        if (epochDay < MIN_DAY) {
+            throw new RuntimeException("Date year " + LocalDate.ofEpochDay(epochDay).getYear() + " is too far in the past (before 1900)");
+        }
+
+        if (epochDay > MAX_DAY) {
+            throw new RuntimeException("Date year " + LocalDate.ofEpochDay(epochDay).getYear() + " is too far in the future (after 2100)");
+        }
+
+        Window current = window();
+
+        if (epochDay < current.oldest) {
+            throw new RuntimeException("Absence date " + LocalDate.ofEpochDay(epochDay) + " is more than 5 years old - likely data error");
+        }
+
+        if (epochDay > current.latest) {
+            throw new RuntimeException("Absence date " + LocalDate.ofEpochDay(epochDay) + " is more than 2 years in future - exceeds planning horizon");
+        }
+
+        if (epochDay < current.stale) {
+            logger.warn("Absence date {} is more than 18 months old - verify accuracy", LocalDate.ofEpochDay(epochDay));
+        }
+    }
+
+    private static Window window() {
+        Window current = window;
+        long now = System.currentTimeMillis();
+        if (current == null || now >= current.expires) {
+            current = new Window(LocalDate.now(), now + 60_000);
+            window = current;
+        }
+        return current;
+    }
+
+    private static int epochDay(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return Math.toIntExact(LocalDate.of(year, month, day).toEpochDay());
+        }
+        // Days from civil (H. Hinnant), proleptic Gregorian like LocalDate.
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yoe = y - era * 400;
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    /** Year, month and day of an epoch day packed as {@code year << 16 | month << 8 | day}. */
+    private static long civil(int epochDay) {
+        int z = epochDay + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int doe = z - era * 146097;
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = (long) yoe + era * 400L + (month <= 2 ? 1 : 0);
+        return year << 16 | (long) month << 8 | day;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static final class Window {
+        private final int oldest;
+        private final int latest;
+        private final int stale;
+        private final long expires;
+
+        Window(LocalDate today, long expires) {
+            this.oldest = Math.toIntExact(today.minusYears(5).toEpochDay());
+            this.latest = Math.toIntExact(today.plusYears(2).toEpochDay());
+            this.stale = Math.toIntExact(today.minusMonths(18).toEpochDay());
+            this.expires = expires;
+        }
+    }
+}
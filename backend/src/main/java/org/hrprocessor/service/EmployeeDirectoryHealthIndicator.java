@@ -0,0 +1,34 @@
+package org.hrprocessor.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the employee index in memory. It stays up without an employees file, because the service is still ready
+ * to receive one; it only reads the published snapshot and never touches the file.
+ */
+@Component
+public class EmployeeDirectoryHealthIndicator implements HealthIndicator {
+
+    private final EmployeeDirectoryService employeeDirectory;
+
+    public EmployeeDirectoryHealthIndicator(EmployeeDirectoryService employeeDirectory) {
+        this.employeeDirectory = employeeDirectory;
+    }
+
+    @Override
+    public Health health() {
+        EmployeeDirectoryService.Snapshot snapshot = employeeDirectory.getCurrent();
+        if (snapshot == null) {
+            return Health.up().withDetail("loaded", false).build();
+        }
+        return Health.up()
+                .withDetail("loaded", true)
+                .withDetail("version", snapshot.getVersion().getId())
+                .withDetail("createdAt", snapshot.getVersion().getCreatedAt())
+                .withDetail("employees", snapshot.getIndex().size())
+                .withDetail("index", snapshot.getIndex() instanceof MappedEmployeeIndex ? "mapped" : "heap")
+                .build();
+    }
+}
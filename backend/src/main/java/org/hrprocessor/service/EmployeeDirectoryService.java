@@ -0,0 +1,262 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.model.EmployeeFileVersion;
+import org.hrprocessor.model.EmployeeValidationSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The employee master as seen by the processing path: a parsed, indexed snapshot of the active version. Readers get
+ * the current snapshot without locking; uploads and rollbacks are serialized and publish a new snapshot only after
+ * the file has been validated and atomically moved into place. Snapshots of the retained versions are cached, so
+ * rolling back does not parse the workbook again.
+ */
+@Service
+@DependsOn("workbookReaderConfigurer")
+public class EmployeeDirectoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeDirectoryService.class);
+    private static final int SAMPLE_SIZE = 20;
+
+    private final FileStorageService fileStorage;
+    private final StreamingExcelReaderService excelReader = new StreamingExcelReaderService();
+    private final int versionsKept;
+    private final double maxRejectRatio;
+    private final long mappedIndexThresholdBytes;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final Map<String, Snapshot> snapshots = new LinkedHashMap<>();
+
+    @Autowired
+    public EmployeeDirectoryService(FileStorageService fileStorage,
+                                    @Value("${hr.processor.employees.versions-kept:5}") int versionsKept,
+                                    @Value("${hr.processor.employees.max-reject-ratio:0.5}") double maxRejectRatio,
+                                    @Value("${hr.processor.employees.mapped-index-threshold-mb:16}") int mappedIndexThresholdMb) {
+        this.fileStorage = fileStorage;
+        this.versionsKept = Math.max(1, versionsKept);
+        this.maxRejectRatio = maxRejectRatio;
+        this.mappedIndexThresholdBytes = mappedIndexThresholdMb < 0 ? Long.MAX_VALUE : mappedIndexThresholdMb * 1024L * 1024L;
+    }
+
+    @PostConstruct
+    public synchronized void initialize() throws IOException {
+        if (!fileStorage.persistentEmployeesFileExists()) {
+            logger.info("No employees file yet");
+            return;
+        }
+
+        Path liveFile = fileStorage.getPersistentEmployeesFile();
+        String sha256 = FileStorageService.sha256(liveFile);
+        Optional<EmployeeFileVersion> stored = fileStorage.listEmployeeVersions().stream()
+                .filter(version -> version.getSha256().equals(sha256))
+                .findFirst();
+
+        try {
+            EmployeeFileVersion version;
+            if (stored.isPresent()) {
+                version = stored.get();
+            } else {
+                // Master from before versioning: adopt it as the first version.
+                Path copy = fileStorage.createEmployeesTempFile();
+                Files.copy(liveFile, copy, StandardCopyOption.REPLACE_EXISTING);
+                version = fileStorage.storeEmployeesVersion(copy, fileStorage.newEmployeesVersionId(sha256), sha256);
+            }
+            publish(load(version));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Could not load employees file {}", liveFile, e);
+        }
+    }
+
+    /** The active snapshot, or null when no employee master has been uploaded yet. Never blocks. */
+    public Snapshot getCurrent() {
+        return current.get();
+    }
+
+    public synchronized Snapshot update(MultipartFile file) throws IOException {
+        logger.info("Updating employees file with: {}", file.getOriginalFilename());
+        Path upload = fileStorage.createEmployeesTempFile();
+        try {
+            file.transferTo(upload.toFile());
+            return update(upload, file.getOriginalFilename());
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * Parses the given file with the same rules as the processing path and, if it is usable, stores it as a new
+     * version, builds its index and activates it. Files that cannot be parsed, contain no valid employee or reject
+     * more than the configured share of rows are refused with an {@link InvalidEmployeesFileException}.
+     */
+    public synchronized Snapshot update(Path upload, String fileName) throws IOException {
+        String sha256 = FileStorageService.sha256(upload);
+        Snapshot active = current.get();
+        if (active != null && active.getVersion().getSha256().equals(sha256)) {
+            logger.info("Employees file unchanged ({})", active.getVersion().getId());
+            return active;
+        }
+
+        String versionId = fileStorage.newEmployeesVersionId(sha256);
+        EmployeeValidationSummary summary = new EmployeeValidationSummary(fileName);
+        EmployeeIndex index;
+        try {
+            index = parse(upload, versionId, summary);
+        } catch (IOException | RuntimeException e) {
+            summary.setMessage("Not a valid employees workbook: " + e.getMessage());
+            throw new InvalidEmployeesFileException(summary);
+        }
+        if (index == null) {
+            logger.warn("Refused employees file {}: {}", fileName, summary.getMessage());
+            throw new InvalidEmployeesFileException(summary);
+        }
+
+        EmployeeFileVersion version = fileStorage.storeEmployeesVersion(upload, versionId, sha256);
+        summary.setVersion(version.getId());
+        Snapshot snapshot = new Snapshot(version, index, summary);
+        snapshots.put(version.getId(), snapshot);
+        fileStorage.pruneEmployeeVersions(versionsKept, version.getId());
+        publish(snapshot);
+        logger.info("Accepted employees file {}: {}", fileName, summary);
+        return snapshot;
+    }
+
+    public synchronized Optional<Snapshot> rollback(String versionId) throws IOException {
+        Optional<EmployeeFileVersion> version = fileStorage.findEmployeeVersion(versionId);
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Snapshot snapshot = load(version.get());
+        fileStorage.activateEmployeesVersion(snapshot.getVersion());
+        publish(snapshot);
+        return Optional.of(snapshot);
+    }
+
+    public List<EmployeeFileVersion> listVersions() throws IOException {
+        List<EmployeeFileVersion> versions = fileStorage.listEmployeeVersions();
+        Snapshot active = current.get();
+        for (EmployeeFileVersion version : versions) {
+            version.setActive(active != null && active.getVersion().getId().equals(version.getId()));
+        }
+        return versions;
+    }
+
+    private Snapshot load(EmployeeFileVersion version) throws IOException {
+        Snapshot cached = snapshots.get(version.getId());
+        if (cached != null) {
+            return cached;
+        }
+        EmployeeValidationSummary summary = new EmployeeValidationSummary(version.getId());
+        EmployeeIndex index = parse(fileStorage.getVersionPath(version.getId()), version.getId(), summary);
+        if (index == null) {
+            throw new IOException("Stored employees version " + version.getId() + " is not valid: " + summary.getMessage());
+        }
+        summary.setVersion(version.getId());
+        Snapshot snapshot = new Snapshot(version, index, summary);
+        snapshots.put(version.getId(), snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Reads and validates a master and builds its index, or returns null if the file is refused. Large masters are
+     * streamed into a memory-mapped index next to the version instead of being held as objects.
+     */
+    private EmployeeIndex parse(Path file, String versionId, EmployeeValidationSummary summary) throws IOException {
+        if (Files.size(file) < mappedIndexThresholdBytes) {
+            List<Employee> employees = excelReader.readEmployees(file.toString(), summary);
+            summary.setEmployees(employees.size());
+            if (!validate(summary)) {
+                return null;
+            }
+            countDuplicateNameKeys(employees, summary);
+            return new HeapEmployeeIndex(employees);
+        }
+
+        Path indexFile = fileStorage.getIndexPath(versionId);
+        Files.createDirectories(indexFile.getParent());
+        try (MappedEmployeeIndex.Builder builder = MappedEmployeeIndex.builder(indexFile)) {
+            summary.setEmployees(excelReader.readEmployees(file.toString(), summary, builder::add));
+            if (!validate(summary)) {
+                return null;
+            }
+            MappedEmployeeIndex index = builder.build();
+            summary.setDuplicateNameKeys(builder.getDuplicateNameKeys());
+            summary.getSampleDuplicateNameKeys().addAll(builder.getSampleDuplicateNameKeys());
+            logger.info("Built mapped employee index {} ({} bytes)", indexFile.getFileName(), Files.size(indexFile));
+            return index;
+        }
+    }
+
+    private boolean validate(EmployeeValidationSummary summary) {
+        if (summary.getEmployees() == 0) {
+            summary.setMessage("No employee with a user id and email found in " + summary.getRows() + " rows");
+        } else if (summary.getRejected() > summary.getRows() * maxRejectRatio) {
+            summary.setMessage(summary.getRejected() + " of " + summary.getRows() + " rows have no user id or email");
+        } else {
+            summary.setValid(true);
+            summary.setMessage("Employees file is valid");
+        }
+        return summary.isValid();
+    }
+
+    private void countDuplicateNameKeys(List<Employee> employees, EmployeeValidationSummary summary) {
+        Map<String, Integer> nameKeyCounts = new HashMap<>(employees.size() * 4 / 3 + 1);
+        for (Employee employee : employees) {
+            String nameKey = EmployeeIndex.nameKey(employee.getFirstName(), employee.getLastName());
+            if (nameKeyCounts.merge(nameKey, 1, Integer::sum) == 2) {
+                summary.setDuplicateNameKeys(summary.getDuplicateNameKeys() + 1);
+                if (summary.getSampleDuplicateNameKeys().size() < SAMPLE_SIZE) {
+                    summary.getSampleDuplicateNameKeys().add(nameKey);
+                }
+            }
+        }
+    }
+
+    private void publish(Snapshot snapshot) {
+        current.set(snapshot);
+        snapshots.keySet().removeIf(id -> !id.equals(snapshot.getVersion().getId())
+                && !Files.exists(fileStorage.getVersionPath(id)));
+        logger.info("Active employees version {} with {} employees", snapshot.getVersion().getId(), snapshot.getIndex().size());
+    }
+
+    public static class Snapshot {
+        private final EmployeeFileVersion version;
+        private final EmployeeIndex index;
+        private final EmployeeValidationSummary validation;
+
+        Snapshot(EmployeeFileVersion version, EmployeeIndex index, EmployeeValidationSummary validation) {
+            this.version = version;
+            this.index = index;
+            this.validation = validation;
+        }
+
+        public EmployeeFileVersion getVersion() {
+            return version;
+        }
+
+        public EmployeeIndex getIndex() {
+            return index;
+        }
+
+        public EmployeeValidationSummary getValidation() {
+            return validation;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.Employee;
+
+/**
+ * Name-key lookup over an employee master. Built once and shared read-only between concurrent matchers.
+ * Employees are addressed by ordinal, their position in the master; when several employees share a name key the
+ * last one wins, as it always did in the matcher.
+ */
+public interface EmployeeIndex {
+
+    static String nameKey(String firstName, String lastName) {
+        return (firstName + " " + lastName).toLowerCase().trim();
+    }
+
+    /** Ordinal of the employee with the same name key, or -1. */
+    int find(String firstName, String lastName);
+
+    Employee get(int ordinal);
+
+    default String getUserId(int ordinal) {
+        return get(ordinal).getUserId();
+    }
+
+    default String getEmail(int ordinal) {
+        return get(ordinal).getEmail();
+    }
+
+    default int getWeeklyWorkingHours(int ordinal) {
+        return get(ordinal).getWeeklyWorkingHours();
+    }
+
+    int size();
+
+    int distinctNameKeys();
+}
@@ -12,12 +12,10 @@ import org.slf4j.LoggerFactory;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
-public class ExcelReaderService {
+public class ExcelReaderService implements WorkbookReader {
 
     private static final Logger logger = LoggerFactory.getLogger(ExcelReaderService.class);
 
@@ -26,6 +24,7 @@ public class ExcelReaderService {
         logger.info("Apache POI byte array max override set to 700MB");
     }
 
+    @Override
     public List<Employee> readEmployees(String filePath) throws IOException {
         logger.info("Reading employees from: {}", filePath);
         List<Employee> employees = new ArrayList<>();
@@ -33,18 +32,23 @@ public class ExcelReaderService {
         try (FileInputStream file = new FileInputStream(filePath); Workbook workbook = new XSSFWorkbook(file)) {
             Sheet sheet = workbook.getSheetAt(0);
             logger.debug("Sheet found: {} with {} rows", sheet.getSheetName(), sheet.getLastRowNum());
-
-
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+            ColumnLayout layout = detectLayout(sheet, ColumnLayout.EMPLOYEES);
+            int userIdColumn = layout.column(ColumnLayout.EMPLOYEE_USER_ID);
+            int lastNameColumn = layout.column(ColumnLayout.EMPLOYEE_LAST_NAME);
+            int firstNameColumn = layout.column(ColumnLayout.EMPLOYEE_FIRST_NAME);
+            int emailColumn = layout.column(ColumnLayout.EMPLOYEE_EMAIL);
+            int hoursColumn = layout.column(ColumnLayout.EMPLOYEE_WEEKLY_HOURS);
+
+            for (int i = layout.getFirstDataRow(); i <= sheet.getLastRowNum(); i++) {
                 Row row = sheet.getRow(i);
                 if (row != null && !isRowEmpty(row)) {
                     try {
                         Employee employee = new Employee();
-                        employee.setUserId(getCellValueAsString(row.getCell(0)));
-                        employee.setLastName(getCellValueAsString(row.getCell(1)));
-                        employee.setFirstName(getCellValueAsString(row.getCell(2)));
-                        employee.setEmail(getCellValueAsString(row.getCell(3)));
-                        employee.setWeeklyWorkingHours(getCellValueAsInt(row.getCell(4)));
+                        employee.setUserId(getCellValueAsString(cell(row, userIdColumn)));
+                        employee.setLastName(getCellValueAsString(cell(row, lastNameColumn)));
+                        employee.setFirstName(getCellValueAsString(cell(row, firstNameColumn)));
+                        employee.setEmail(getCellValueAsString(cell(row, emailColumn)));
+                        employee.setWeeklyWorkingHours(getCellValueAsInt(cell(row, hoursColumn)));
 
 
                         if (!employee.getUserId().isEmpty() && !employee.getEmail().isEmpty()) {
@@ -63,6 +67,7 @@ public class ExcelReaderService {
         return employees;
     }
 
+    @Override
     public List<Absence> readAbsences(String filePath) throws IOException {
         logger.info("Reading absences from: {}", filePath);
         List<Absence> absences = new ArrayList<>();
@@ -72,34 +77,44 @@ public class ExcelReaderService {
             Sheet sheet = workbook.getSheetAt(0);
             logger.debug("Sheet found: {} with {} rows", sheet.getSheetName(), sheet.getLastRowNum());
 
+            ColumnLayout layout = detectLayout(sheet, ColumnLayout.ABSENCES);
+            int firstNameColumn = layout.column(ColumnLayout.ABSENCE_FIRST_NAME);
+            int lastNameColumn = layout.column(ColumnLayout.ABSENCE_LAST_NAME);
+            int timeTypeColumn = layout.column(ColumnLayout.ABSENCE_TIME_TYPE);
+            int startDateColumn = layout.column(ColumnLayout.ABSENCE_START_DATE);
+            int endDateColumn = layout.column(ColumnLayout.ABSENCE_END_DATE);
+            int statusColumn = layout.column(ColumnLayout.ABSENCE_APPROVAL_STATUS);
+
+            AbsenceFilter filter = AbsenceFilter.current();
+            StringInterner names = new StringInterner();
             int processedCount = 0;
             int errorCount = 0;
             int excludedCount = 0;
 
-            for (int i = 3; i <= sheet.getLastRowNum(); i++) {
+            for (int i = layout.getFirstDataRow(); i <= sheet.getLastRowNum(); i++) {
                 Row row = sheet.getRow(i);
                 if (row != null && !isRowEmpty(row)) {
                     try {
-                        String approvalStatus = getCellValueAsString(row.getCell(16));
+                        String approvalStatus = getCellValueAsString(row.getCell(statusColumn));
 
-                        if (!"APPROVED".equalsIgnoreCase(approvalStatus.trim()) && !"PENDING".equalsIgnoreCase(approvalStatus.trim())) {
+                        if (!filter.isAcceptedStatus(approvalStatus)) {
                             logger.debug("Skipping non-approved absence at row {}: status = {}", i, approvalStatus);
                             continue;
                         }
 
 
-                        String timeType = getCellValueAsString(row.getCell(7)).toLowerCase().trim();
-                        if ("working time".equals(timeType) || "break".equals(timeType)) {
+                        String timeType = getCellValueAsString(row.getCell(timeTypeColumn));
+                        if (filter.isExcludedTimeType(timeType)) {
                             excludedCount++;
                             logger.debug("Excluding {} entry at row {}: time type = {}", approvalStatus, i, timeType);
                             continue;
                         }
 
                         Absence absence = new Absence();
-                        absence.setFirstName(getCellValueAsString(row.getCell(3)));
-                        absence.setLastName(getCellValueAsString(row.getCell(5)));
-                        absence.setStartDate(parseDate(row.getCell(8)));
-                        absence.setEndDate(parseDate(row.getCell(10)));
+                        absence.setFirstName(names.intern(getCellValueAsString(row.getCell(firstNameColumn))));
+                        absence.setLastName(names.intern(getCellValueAsString(row.getCell(lastNameColumn))));
+                        absence.setStartDate(parseDate(row.getCell(startDateColumn)));
+                        absence.setEndDate(parseDate(row.getCell(endDateColumn)));
 
                         if (absence.getFirstName().isEmpty() || absence.getLastName().isEmpty()) {
                             throw new RuntimeException("Missing employee name");
@@ -116,13 +131,37 @@ public class ExcelReaderService {
                 }
             }
 
-            logger.info("Total absences read: {}, excluded (working time/break): {}, errors: {}",
+            logger.info("Total absences read: {}, excluded time types: {}, errors: {}",
                     processedCount, excludedCount, errorCount);
         }
 
         return absences;
     }
 
+    private ColumnLayout detectLayout(Sheet sheet, ColumnLayout.Detector detector) {
+        ColumnLayout legacy = detector.legacy();
+        for (int i = 0; i < legacy.getFirstDataRow(); i++) {
+            Row row = sheet.getRow(i);
+            if (row == null || isRowEmpty(row)) {
+                continue;
+            }
+            String[] cells = new String[Math.max(0, row.getLastCellNum())];
+            for (int c = 0; c < cells.length; c++) {
+                cells[c] = getCellValueAsString(row.getCell(c));
+            }
+            ColumnLayout layout = detector.detect(i, cells);
+            if (layout != null) {
+                return layout;
+            }
+        }
+        logger.debug("No header found in sheet {}, using default column positions", sheet.getSheetName());
+        return legacy;
+    }
+
+    private static Cell cell(Row row, int column) {
+        return column < 0 ? null : row.getCell(column);
+    }
+
     private String getCellValueAsString(Cell cell) {
         if (cell == null) return "";
 
@@ -161,25 +200,46 @@ public class ExcelReaderService {
         return 0;
     }
 
+    /**
+     * Same answer as checking {@link #getCellValueAsString} for every cell, but from the cell type and raw value:
+     * numbers and booleans always have a value, so dates are never formatted just to be thrown away.
+     */
     private boolean isRowEmpty(Row row) {
-        for (int i = 0; i < row.getLastCellNum(); i++) {
-            Cell cell = row.getCell(i);
-            if (cell != null && cell.getCellType() != CellType.BLANK && !getCellValueAsString(cell).isEmpty()) {
-                return false;
+        for (Cell cell : row) {
+            switch (cell.getCellType()) {
+                case NUMERIC:
+                case BOOLEAN:
+                    return false;
+                case STRING:
+                    if (!isBlank(cell.getStringCellValue())) {
+                        return false;
+                    }
+                    break;
+                default:
+                    break;
             }
         }
 
         return true;
     }
 
-    private LocalDate parseDate(Cell cell) {
+    static boolean isBlank(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public LocalDate parseDate(Cell cell) {
         if (cell == null) {
             throw new RuntimeException("Date cell is missing - absence record incomplete");
         }
 
         try {
             LocalDate date = extractDateFromCell(cell);
-            validateDate(date);
+            DateValues.validate(date);
             return date;
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid date format in cell: " + e.getMessage());
@@ -191,77 +251,14 @@ public class ExcelReaderService {
 
     private LocalDate extractDateFromCell(Cell cell) {
         if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
-            Date date = cell.getDateCellValue();
-            return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+            Workbook workbook = cell.getSheet().getWorkbook();
+            boolean date1904 = workbook instanceof Date1904Support && ((Date1904Support) workbook).isDate1904();
+            return DateValues.fromExcelSerial(cell.getNumericCellValue(), date1904);
         }
 
         if (cell.getCellType() == CellType.STRING) {
-            String dateStr = cell.getStringCellValue().trim();
-
-            if (dateStr.isEmpty()) {
-                throw new IllegalArgumentException("Date string is empty");
-            }
-            if (dateStr.contains("T")) {
-                dateStr = dateStr.substring(0, dateStr.indexOf("T"));
-            }
-
-            if (dateStr.matches("\\d{1,2}\\.\\d{1,2}\\.\\d{4}")) {
-                String[] parts = dateStr.split("\\.");
-                int day = Integer.parseInt(parts[0]);
-                int month = Integer.parseInt(parts[1]);
-                int year = Integer.parseInt(parts[2]);
-                return LocalDate.of(year, month, day);
-            }
-            return LocalDate.parse(dateStr);
+            return DateValues.fromString(cell.getStringCellValue());
         }
         throw new IllegalArgumentException("Unsupported cell type for date");
     }
-
-    private void validateDate(LocalDate date) {
-        if (date == null) {
-            throw new RuntimeException("Date cannot be null");
-        }
-
-        if (date.getYear() < 1900) {
-            throw new RuntimeException("Date year " + date.getYear() + " is too far in the past (before 1900)");
-        }
-
-        if (date.getYear() > 2100) {
-            throw new RuntimeException("Date year " + date.getYear() + " is too far in the future (after 2100)");
-        }
-
-        LocalDate now = LocalDate.now();
-
-        if (date.isBefore(now.minusYears(5))) {
-            throw new RuntimeException("Absence date " + date + " is more than 5 years old - likely data error");
-        }
-
-        if (date.isAfter(now.plusYears(2))) {
-            throw new RuntimeException("Absence date " + date + " is more than 2 years in future - exceeds planning horizon");
-        }
-
-        if (date.isBefore(now.minusMonths(18))) {
-            logger.warn("Absence date {} is more than 18 months old - verify accuracy", date);
-        }
-
-        if (date.getMonthValue() < 1 || date.getMonthValue() > 12) {
-            throw new RuntimeException("Invalid month " + date.getMonthValue() + " in date " + date);
-        }
-
-        if (date.getDayOfMonth() < 1 || date.getDayOfMonth() > 31) {
-            throw new RuntimeException("Invalid day " + date.getDayOfMonth() + " in date " + date);
-        }
-
-        if (date.getMonthValue() == 2 && date.getDayOfMonth() > 29) {
-            throw new RuntimeException("February cannot have " + date.getDayOfMonth() + " days in date " + date);
-        }
-
-        if (date.getMonthValue() == 2 && date.getDayOfMonth() == 29 && !date.isLeapYear()) {
-            throw new RuntimeException("February 29 is not valid in non-leap year " + date.getYear());
-        }
-
-        if ((date.getMonthValue() == 4 || date.getMonthValue() == 6 || date.getMonthValue() == 9 || date.getMonthValue() == 11) && date.getDayOfMonth() > 30) {
-            throw new RuntimeException("Month " + date.getMonthValue() + " cannot have " + date.getDayOfMonth() + " days");
-        }
-    }
 }
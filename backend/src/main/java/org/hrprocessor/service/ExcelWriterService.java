@@ -5,84 +5,114 @@ import org.apache.poi.util.IOUtils;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.model.CapacityPeriod;
+import org.hrprocessor.model.CapacityReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.time.format.DateTimeFormatter;
+import java.io.OutputStream;
 import java.util.List;
 
 public class ExcelWriterService {
     private static final Logger logger = LoggerFactory.getLogger(ExcelWriterService.class);
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private static final int LARGE_FILE_THRESHOLD = 10000;
 
+    private final int largeFileThreshold;
+
 
     static {
         IOUtils.setByteArrayMaxOverride(700_000_000);
         logger.info("Apache POI byte array max override set to 700MB for writing");
     }
+
+    public ExcelWriterService() {
+        this(LARGE_FILE_THRESHOLD);
+    }
+
+    public ExcelWriterService(int largeFileThreshold) {
+        this.largeFileThreshold = largeFileThreshold;
+    }
+
     public void writeAbsenceResults(List<AbsenceResult> results, String outputPath) throws IOException {
+        writeAbsenceResults(AbsenceResultBatch.of(results), outputPath);
+    }
+
+    public void writeAbsenceResults(AbsenceResultBatch results, String outputPath) throws IOException {
         logger.info("Writing {} absence results to: {}", results.size(), outputPath);
 
-        if (results.size() > LARGE_FILE_THRESHOLD) {
-            writeWithStreamingWorkbook(results, outputPath);
+        try (FileOutputStream fos = new FileOutputStream(outputPath)) {
+            writeAbsenceResults(results, fos);
+        }
+    }
+
+    public void writeAbsenceResults(List<AbsenceResult> results, OutputStream out) throws IOException {
+        writeAbsenceResults(AbsenceResultBatch.of(results), out);
+    }
+
+    public void writeAbsenceResults(AbsenceResultBatch results, OutputStream out) throws IOException {
+        writeAbsenceResults(results, null, out);
+    }
+
+    public void writeAbsenceResults(AbsenceResultBatch results, CapacityReport capacity, OutputStream out) throws IOException {
+        writeAbsenceResults(results, capacity, null, out);
+    }
+
+    /**
+     * Adds a "Capacity" sheet after the results when a capacity report is given, and a "working days" column with the
+     * working days of each absence when a calendar is given.
+     */
+    public void writeAbsenceResults(AbsenceResultBatch results, CapacityReport capacity, WorkingDayCalendar workingDays,
+                                    OutputStream out) throws IOException {
+        if (results.size() > largeFileThreshold) {
+            writeWithStreamingWorkbook(results, capacity, workingDays, out);
         } else {
-            writeWithStandardWorkbook(results, outputPath);
+            writeWithStandardWorkbook(results, capacity, workingDays, out);
         }
     }
 
-    private void writeWithStandardWorkbook(List<AbsenceResult> results, String outputPath) throws IOException {
+    private void writeWithStandardWorkbook(AbsenceResultBatch results, CapacityReport capacity, WorkingDayCalendar workingDays,
+                                           OutputStream out) throws IOException {
         try (Workbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("Sheet1");
-            createHeaderRow(sheet);
+            int columns = createHeaderRow(sheet, workingDays != null);
 
             for (int i = 0; i < results.size(); i++) {
-                AbsenceResult result = results.get(i);
                 Row row = sheet.createRow(i + 1);
 
-                row.createCell(0).setCellValue(result.getUserId());
-                row.createCell(1).setCellValue(result.getEmail());
-
-                String fromDate = result.getAbsentFrom() != null ?
-                        result.getAbsentFrom().format(DATE_FORMATTER) : "";
-                String untilDate = result.getAbsentUntil() != null ?
-                        result.getAbsentUntil().format(DATE_FORMATTER) : "";
-
-                row.createCell(2).setCellValue(fromDate);
-                row.createCell(3).setCellValue(untilDate);
+                row.createCell(0).setCellValue(results.getUserId(i));
+                row.createCell(1).setCellValue(results.getEmail(i));
+                row.createCell(2).setCellValue(DateValues.formatEpochDay(results.getFromDay(i)));
+                row.createCell(3).setCellValue(DateValues.formatEpochDay(results.getUntilDay(i)));
+                writeWorkingDays(row, results, i, workingDays);
             }
 
-            autoSizeColumn(sheet);
-
-            try (FileOutputStream fos = new FileOutputStream(outputPath)) {
-                workbook.write(fos);
+            autoSizeColumn(sheet, columns);
+            if (capacity != null) {
+                writeCapacitySheet(workbook, capacity);
             }
+
+            workbook.write(out);
         }
     }
 
-    private void writeWithStreamingWorkbook(List<AbsenceResult> results, String outputPath) throws IOException {
+    private void writeWithStreamingWorkbook(AbsenceResultBatch results, CapacityReport capacity, WorkingDayCalendar workingDays,
+                                            OutputStream out) throws IOException {
         logger.info("Using streaming workbook for large file with {} results", results.size());
 
         try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000)) {
             Sheet sheet = workbook.createSheet("Sheet1");
-            createHeaderRow(sheet);
+            createHeaderRow(sheet, workingDays != null);
 
             for (int i = 0; i < results.size(); i++) {
-                AbsenceResult result = results.get(i);
                 Row row = sheet.createRow(i + 1);
 
-                row.createCell(0).setCellValue(result.getUserId());
-                row.createCell(1).setCellValue(result.getEmail());
-
-                String fromDate = result.getAbsentFrom() != null ?
-                        result.getAbsentFrom().format(DATE_FORMATTER) : "";
-                String untilDate = result.getAbsentUntil() != null ?
-                        result.getAbsentUntil().format(DATE_FORMATTER) : "";
-
-                row.createCell(2).setCellValue(fromDate);
-                row.createCell(3).setCellValue(untilDate);
+                row.createCell(0).setCellValue(results.getUserId(i));
+                row.createCell(1).setCellValue(results.getEmail(i));
+                row.createCell(2).setCellValue(DateValues.formatEpochDay(results.getFromDay(i)));
+                row.createCell(3).setCellValue(DateValues.formatEpochDay(results.getUntilDay(i)));
+                writeWorkingDays(row, results, i, workingDays);
 
 
                 if (i > 0 && i % 5000 == 0) {
@@ -90,36 +120,82 @@ public class ExcelWriterService {
                 }
             }
 
-
-
-            try (FileOutputStream fos = new FileOutputStream(outputPath)) {
-                workbook.write(fos);
+            if (capacity != null) {
+                writeCapacitySheet(workbook, capacity);
             }
 
+            workbook.write(out);
+
             workbook.dispose();
         }
     }
 
-    private void createHeaderRow(Sheet sheet) {
+    private void writeCapacitySheet(Workbook workbook, CapacityReport capacity) {
+        Sheet sheet = workbook.createSheet("Capacity");
+        String[] headers = {CapacityCalculator.WEEK.equals(capacity.getGranularity()) ? "week from" : "date", "until",
+                "working days", "absent employees", "planned hours", "absent hours", "available hours", "available FTE"};
+        Row headerRow = sheet.createRow(0);
+        CellStyle headerStyle = workbook.createCellStyle();
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        headerStyle.setFont(headerFont);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+
+        List<CapacityPeriod> periods = capacity.getPeriods();
+        for (int i = 0; i < periods.size(); i++) {
+            CapacityPeriod period = periods.get(i);
+            Row row = sheet.createRow(i + 1);
+            row.createCell(0).setCellValue(DateValues.formatEpochDay(Math.toIntExact(period.getStart().toEpochDay())));
+            row.createCell(1).setCellValue(DateValues.formatEpochDay(Math.toIntExact(period.getEnd().toEpochDay())));
+            row.createCell(2).setCellValue(period.getWorkingDays());
+            row.createCell(3).setCellValue(period.getAbsentEmployees());
+            row.createCell(4).setCellValue(period.getPlannedHours());
+            row.createCell(5).setCellValue(period.getAbsentHours());
+            row.createCell(6).setCellValue(period.getAvailableHours());
+            row.createCell(7).setCellValue(period.getAvailableFte());
+        }
+    }
+
+    private void writeWorkingDays(Row row, AbsenceResultBatch results, int i, WorkingDayCalendar workingDays) {
+        if (workingDays == null) {
+            return;
+        }
+        int from = results.getFromDay(i);
+        int until = results.getUntilDay(i);
+        if (from != AbsenceBatch.NO_DATE && until != AbsenceBatch.NO_DATE) {
+            row.createCell(4).setCellValue(workingDays.countWorkingDays(from, until));
+        }
+    }
+
+    private int createHeaderRow(Sheet sheet, boolean withWorkingDays) {
         Row headerRow = sheet.createRow(0);
 
         headerRow.createCell(0).setCellValue("USER-ID");
         headerRow.createCell(1).setCellValue("email");
         headerRow.createCell(2).setCellValue("absent from");
         headerRow.createCell(3).setCellValue("absent until");
+        if (withWorkingDays) {
+            headerRow.createCell(4).setCellValue("working days");
+        }
+        int columns = headerRow.getLastCellNum();
 
         CellStyle headerStyle=sheet.getWorkbook().createCellStyle();
         Font headerFont=sheet.getWorkbook().createFont();
         headerFont.setBold(true);
         headerStyle.setFont(headerFont);
 
-        for (int i = 0; i < 4; i++) {
+        for (int i = 0; i < columns; i++) {
             headerRow.getCell(i).setCellStyle(headerStyle);
         }
+        return columns;
     }
 
-    private void autoSizeColumn(Sheet sheet) {
-        for(int i=0;i<4;i++)
+    private void autoSizeColumn(Sheet sheet, int columns) {
+        for(int i=0;i<columns;i++)
         {
             sheet.autoSizeColumn(i);
         }
@@ -0,0 +1,118 @@
+package org.hrprocessor.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sends a file as a download with conditional GET and single byte-range support. The bytes never pass through the
+ * heap: on Tomcat the connector is handed the file and uses sendfile ({@link FileChannel#transferTo} to the socket),
+ * elsewhere the file channel is transferred to the response stream. A Range with several parts gets the whole file.
+ */
+public class FileDownloadService {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * @param etag quoted entity tag of the content, or null to validate on the modification time only
+     */
+    public void send(Path file, String etag, long lastModified, String fileName,
+                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        boolean notModified = etag != null ? webRequest.checkNotModified(etag, lastModified) : webRequest.checkNotModified(lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        if (notModified) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long start = 0;
+            long end = length - 1;
+
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+
+            List<HttpRange> ranges = requestedRanges(request, etag, lastModified);
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    start = length;
+                }
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+            long count = end - start + 1;
+            response.setContentLengthLong(count);
+            if ("HEAD".equals(request.getMethod()) || count <= 0) {
+                return;
+            }
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+            response.flushBuffer();
+        }
+    }
+
+    /** Ranges to honour: none when the header is missing or malformed, or when If-Range names another version. */
+    private static List<HttpRange> requestedRanges(HttpServletRequest request, String etag, long lastModified) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null) {
+            return List.of();
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            boolean current;
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                current = ifRange.equals(etag);
+            } else {
+                try {
+                    current = request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+                } catch (IllegalArgumentException e) {
+                    current = false;
+                }
+            }
+            if (!current) {
+                return List.of();
+            }
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+}
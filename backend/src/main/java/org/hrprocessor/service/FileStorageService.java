@@ -1,33 +1,62 @@
 package org.hrprocessor.service;
 
+import org.hrprocessor.model.EmployeeFileVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Owns the employee master on disk. Every accepted master is kept as an immutable version under
+ * {@code employees-versions/}; the live file is only ever replaced by an atomic move, so a reader that opens it
+ * always sees a complete workbook. The hash of each version is kept next to it in {@code <id>.sha256}, so listing
+ * versions never reads the workbooks.
+ */
 @Service
 public class FileStorageService {
 
     private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
+    private static final DateTimeFormatter VERSION_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final int VERSION_HASH_LENGTH = 12;
+
     private final Path dataDirectory;
     private final Path persistentEmployeesPath;
+    private final Path versionsDirectory;
 
     public FileStorageService() {
-        String currentDir = System.getProperty("user.dir");
-        this.dataDirectory = Paths.get(currentDir, "data", "input");
+        this(Paths.get(System.getProperty("user.dir"), "data", "input"));
+    }
+
+    public FileStorageService(Path dataDirectory) {
+        this.dataDirectory = dataDirectory;
         this.persistentEmployeesPath = dataDirectory.resolve("HR_RO_SMARTDISPO_WS.xlsx");
+        this.versionsDirectory = dataDirectory.resolve("employees-versions");
 
         logger.info("Data directory: {}", dataDirectory.toAbsolutePath());
         logger.info("Persistent employees file path: {}", persistentEmployeesPath.toAbsolutePath());
     }
 
+    public Path getDataDirectory() {
+        return dataDirectory;
+    }
+
     public Path getPersistentEmployeesFile() {
         return persistentEmployeesPath;
     }
@@ -37,29 +66,144 @@ public class FileStorageService {
         return exists;
     }
 
-    public void updatePersistentEmployeesFile(MultipartFile newFile) throws IOException {
-        logger.info("Updating persistent employees file with: {}", newFile.getOriginalFilename());
+    public File getPersistentEmployeesAsFile() {
+        return persistentEmployeesPath.toFile();
+    }
+
+    /** Creates an empty file next to the live master, so a later atomic move stays on the same file system. */
+    public Path createEmployeesTempFile() throws IOException {
+        Files.createDirectories(dataDirectory);
+        return Files.createTempFile(dataDirectory, ".employees-", ".xlsx.part");
+    }
+
+    public String newEmployeesVersionId(String sha256) {
+        return LocalDateTime.now().format(VERSION_TIMESTAMP) + "-" + sha256.substring(0, VERSION_HASH_LENGTH);
+    }
+
+    /** Moves an already validated file into the version store and makes it the live master. */
+    public EmployeeFileVersion storeEmployeesVersion(Path validatedFile, String id, String sha256) throws IOException {
+        Files.createDirectories(versionsDirectory);
+
+        Path versionPath = versionsDirectory.resolve(id + ".xlsx");
+        writeHash(id, sha256);
+        Files.move(validatedFile, versionPath, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Stored employees version {}", id);
 
+        EmployeeFileVersion version = toVersion(versionPath, sha256);
+        activateEmployeesVersion(version);
+        return version;
+    }
+
+    /** Atomically replaces the live master with a stored version. Open readers keep the file they already have. */
+    public void activateEmployeesVersion(EmployeeFileVersion version) throws IOException {
+        Path staged = createEmployeesTempFile();
         try {
-            Files.createDirectories(dataDirectory);
-            logger.info("Created directories: {}", dataDirectory.toAbsolutePath());
+            Files.copy(getVersionPath(version.getId()), staged, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(staged, persistentEmployeesPath, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Activated employees version {}", version.getId());
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    public Path getVersionPath(String id) {
+        return versionsDirectory.resolve(id + ".xlsx");
+    }
+
+    public Path getHashPath(String id) {
+        return versionsDirectory.resolve(id + ".sha256");
+    }
 
-            if (Files.exists(persistentEmployeesPath)) {
-                Path backupPath = dataDirectory.resolve("HR_RO_SMARTDISPO_WS.xlsx.backup");
-                Files.copy(persistentEmployeesPath, backupPath, StandardCopyOption.REPLACE_EXISTING);
-                logger.info("Created backup: {}", backupPath.toAbsolutePath());
+    /** Where the memory-mapped employee index of a version lives, if one is built for it. */
+    public Path getIndexPath(String id) {
+        return versionsDirectory.resolve(id + ".idx");
+    }
+
+    /** Stored versions, newest first. */
+    public List<EmployeeFileVersion> listEmployeeVersions() throws IOException {
+        List<EmployeeFileVersion> versions = new ArrayList<>();
+        if (!Files.isDirectory(versionsDirectory)) {
+            return versions;
+        }
+        try (Stream<Path> files = Files.list(versionsDirectory)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.getFileName().toString().endsWith(".xlsx"))::iterator) {
+                versions.add(toVersion(file, null));
             }
+        }
+        versions.sort(Comparator.comparing(EmployeeFileVersion::getId).reversed());
+        return versions;
+    }
 
-            newFile.transferTo(persistentEmployeesPath.toFile());
-            logger.info("Successfully updated persistent employees file: {}", persistentEmployeesPath.toAbsolutePath());
+    public Optional<EmployeeFileVersion> findEmployeeVersion(String id) throws IOException {
+        return listEmployeeVersions().stream().filter(version -> version.getId().equals(id)).findFirst();
+    }
 
-        } catch (IOException e) {
-            logger.error("Error updating persistent employees file", e);
-            throw e;
+    /** Deletes the oldest versions beyond {@code keep}, never touching the one given as active. */
+    public void pruneEmployeeVersions(int keep, String activeId) throws IOException {
+        List<EmployeeFileVersion> versions = listEmployeeVersions();
+        for (int i = keep; i < versions.size(); i++) {
+            EmployeeFileVersion version = versions.get(i);
+            if (!version.getId().equals(activeId)) {
+                Files.deleteIfExists(getVersionPath(version.getId()));
+                Files.deleteIfExists(getHashPath(version.getId()));
+                logger.info("Pruned employees version {}", version.getId());
+            }
+        }
+
+        try (Stream<Path> files = Files.list(versionsDirectory)) {
+            for (Path index : (Iterable<Path>) files.filter(f -> f.getFileName().toString().endsWith(".idx"))::iterator) {
+                String fileName = index.getFileName().toString();
+                if (!Files.exists(getVersionPath(fileName.substring(0, fileName.length() - ".idx".length())))) {
+                    try {
+                        Files.deleteIfExists(index);
+                    } catch (IOException e) {
+                        // Still mapped by a snapshot on platforms that lock mapped files; retried on the next prune.
+                        logger.warn("Could not delete employee index {}: {}", fileName, e.getMessage());
+                    }
+                }
+            }
         }
     }
 
-    public File getPersistentEmployeesAsFile() {
-        return persistentEmployeesPath.toFile();
+    public static String sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private EmployeeFileVersion toVersion(Path file, String sha256) throws IOException {
+        String fileName = file.getFileName().toString();
+        String id = fileName.substring(0, fileName.length() - ".xlsx".length());
+        return new EmployeeFileVersion(id, sha256 != null ? sha256 : storedHash(id, file), Files.size(file),
+                Files.getLastModifiedTime(file).toMillis());
+    }
+
+    /** Reads the version's hash file; versions stored before there were hash files are hashed once and get one. */
+    private String storedHash(String id, Path file) throws IOException {
+        Path hashPath = getHashPath(id);
+        if (Files.exists(hashPath)) {
+            String stored = Files.readString(hashPath).trim();
+            if (stored.length() == 64 && stored.chars().allMatch(HexFormat::isHexDigit)) {
+                return stored;
+            }
+            logger.warn("Ignoring invalid hash file of employees version {}", id);
+        }
+        String sha256 = sha256(file);
+        writeHash(id, sha256);
+        return sha256;
+    }
+
+    private void writeHash(String id, String sha256) throws IOException {
+        Path staged = versionsDirectory.resolve("." + id + ".sha256.part");
+        Files.writeString(staged, sha256);
+        Files.move(staged, getHashPath(id), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
     }
 }
@@ -0,0 +1,48 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.Employee;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link EmployeeIndex} backed by a hash map of name keys and the employee objects themselves.
+ */
+public class HeapEmployeeIndex implements EmployeeIndex {
+
+    private final List<Employee> employees;
+    private final Map<String, Integer> ordinalsByNameKey;
+
+    public HeapEmployeeIndex(List<Employee> employees) {
+        this.employees = new ArrayList<>(employees);
+        this.ordinalsByNameKey = new HashMap<>(employees.size() * 4 / 3 + 1);
+
+        for (int i = 0; i < this.employees.size(); i++) {
+            Employee employee = this.employees.get(i);
+            ordinalsByNameKey.put(EmployeeIndex.nameKey(employee.getFirstName(), employee.getLastName()), i);
+        }
+    }
+
+    @Override
+    public int find(String firstName, String lastName) {
+        Integer ordinal = ordinalsByNameKey.get(EmployeeIndex.nameKey(firstName, lastName));
+        return ordinal != null ? ordinal : -1;
+    }
+
+    @Override
+    public Employee get(int ordinal) {
+        return employees.get(ordinal);
+    }
+
+    @Override
+    public int size() {
+        return employees.size();
+    }
+
+    @Override
+    public int distinctNameKeys() {
+        return ordinalsByNameKey.size();
+    }
+}
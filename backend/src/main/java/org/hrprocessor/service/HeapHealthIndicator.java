@@ -0,0 +1,69 @@
+package org.hrprocessor.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+/**
+ * Heap headroom: maximum heap minus what was still live after the last collection of each heap pool. The current
+ * usage also counts garbage that the next collection frees, so it looks full long before the heap really is. Out of
+ * service below the configured minimum, so no more work is routed to an instance about to run out of memory.
+ */
+@Component
+public class HeapHealthIndicator implements HealthIndicator {
+
+    private static final long MB = 1024L * 1024L;
+
+    private final MemoryMXBean memory;
+    private final List<MemoryPoolMXBean> heapPools;
+    private final long minHeadroomBytes;
+
+    @Autowired
+    public HeapHealthIndicator(@Value("${hr.processor.health.min-heap-headroom-mb:64}") int minHeadroomMb) {
+        this(ManagementFactory.getMemoryMXBean(), ManagementFactory.getMemoryPoolMXBeans(), minHeadroomMb);
+    }
+
+    public HeapHealthIndicator(MemoryMXBean memory, List<MemoryPoolMXBean> pools, int minHeadroomMb) {
+        this.memory = memory;
+        this.heapPools = pools.stream().filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+        this.minHeadroomBytes = minHeadroomMb * MB;
+    }
+
+    @Override
+    public Health health() {
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        long live = Math.min(heap.getUsed(), liveAfterCollection(heap.getUsed()));
+        long headroom = max - live;
+        Health.Builder builder = headroom >= minHeadroomBytes ? Health.up() : Health.outOfService();
+        return builder.withDetail("usedMb", heap.getUsed() / MB)
+                .withDetail("liveMb", live / MB)
+                .withDetail("maxMb", max / MB)
+                .withDetail("headroomMb", headroom / MB)
+                .withDetail("minHeadroomMb", minHeadroomBytes / MB)
+                .build();
+    }
+
+    /** Sum of the heap pools' usage after their last collection, or the current usage when no pool reports one. */
+    private long liveAfterCollection(long used) {
+        long live = 0;
+        boolean reported = false;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage collected = pool.getCollectionUsage();
+            if (collected != null) {
+                live += collected.getUsed();
+                reported = true;
+            }
+        }
+        return reported ? live : used;
+    }
+}
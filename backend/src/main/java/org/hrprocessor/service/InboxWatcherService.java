@@ -0,0 +1,318 @@
+package org.hrprocessor.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipFile;
+
+/**
+ * Picks up absence workbooks dropped into the inbox directory (e.g. by SFTP) and processes them without an upload.
+ * A file is only read after its size and modification time have been stable for the settle time and it opens as a
+ * complete zip archive, so partially copied files are never parsed. Outputs go to the output directory; originals
+ * are moved to {@code processed/} or {@code failed/} next to the inbox.
+ */
+@Service
+@DependsOn("workbookReaderConfigurer")
+public class InboxWatcherService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboxWatcherService.class);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final boolean enabled;
+    private final Path inboxDirectory;
+    private final Path processedDirectory;
+    private final Path failedDirectory;
+    private final Path outputDirectory;
+    private final long settleMs;
+    private final EmployeeDirectoryService employeeDirectory;
+    private final AdmissionControlService admissionControl;
+    private final AbsenceCalendarService absenceCalendar;
+    private final AbsenceHistoryService absenceHistory;
+    private final ThreadPoolExecutor workers;
+
+    private final StreamingExcelReaderService excelReader = new StreamingExcelReaderService();
+    private final AbsenceProcessorService processor = new AbsenceProcessorService();
+    private final ExcelWriterService excelWriter = new ExcelWriterService();
+
+    private final Map<Path, PendingFile> pending = new ConcurrentHashMap<>();
+    private final Map<Path, Boolean> inProgress = new ConcurrentHashMap<>();
+    private volatile WatchService watchService;
+    private volatile Thread watcherThread;
+
+    @Autowired
+    public InboxWatcherService(@Value("${hr.processor.inbox.enabled:true}") boolean enabled,
+                               @Value("${hr.processor.inbox.directory:data/input/inbox}") String inboxDirectory,
+                               @Value("${hr.processor.inbox.output-directory:data/output}") String outputDirectory,
+                               @Value("${hr.processor.inbox.settle-ms:2000}") long settleMs,
+                               @Value("${hr.processor.inbox.workers:2}") int workers,
+                               EmployeeDirectoryService employeeDirectory,
+                               AdmissionControlService admissionControl,
+                               AbsenceCalendarService absenceCalendar,
+                               AbsenceHistoryService absenceHistory) {
+        this(enabled, Paths.get(inboxDirectory).toAbsolutePath(), Paths.get(outputDirectory).toAbsolutePath(),
+                settleMs, workers, employeeDirectory, admissionControl, absenceCalendar, absenceHistory);
+    }
+
+    public InboxWatcherService(boolean enabled, Path inboxDirectory, Path outputDirectory, long settleMs, int workers,
+                               EmployeeDirectoryService employeeDirectory, AdmissionControlService admissionControl,
+                               AbsenceCalendarService absenceCalendar, AbsenceHistoryService absenceHistory) {
+        this.enabled = enabled;
+        this.inboxDirectory = inboxDirectory;
+        this.processedDirectory = inboxDirectory.resolveSibling("processed");
+        this.failedDirectory = inboxDirectory.resolveSibling("failed");
+        this.outputDirectory = outputDirectory;
+        this.settleMs = settleMs;
+        this.employeeDirectory = employeeDirectory;
+        this.admissionControl = admissionControl;
+        this.absenceCalendar = absenceCalendar;
+        this.absenceHistory = absenceHistory;
+        this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 4), runnable -> {
+            Thread thread = new Thread(runnable, "hr-inbox-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            logger.info("Inbox watcher disabled");
+            return;
+        }
+
+        Files.createDirectories(inboxDirectory);
+        Files.createDirectories(processedDirectory);
+        Files.createDirectories(failedDirectory);
+        Files.createDirectories(outputDirectory);
+
+        watchService = FileSystems.getDefault().newWatchService();
+        inboxDirectory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        try (DirectoryStream<Path> existing = Files.newDirectoryStream(inboxDirectory)) {
+            for (Path file : existing) {
+                observe(file);
+            }
+        }
+
+        watcherThread = new Thread(this::watchLoop, "hr-inbox-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        logger.info("Watching inbox {} (settle time {} ms, {} workers)", inboxDirectory, settleMs, workers.getMaximumPoolSize());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Could not close inbox watch service", e);
+            }
+        }
+        workers.shutdown();
+    }
+
+    public int getPendingFiles() {
+        return pending.size() + inProgress.size();
+    }
+
+    private void watchLoop() {
+        long pollMs = Math.max(50, settleMs / 4);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.poll(pollMs, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            rescan();
+                        } else {
+                            observe(inboxDirectory.resolve((Path) event.context()));
+                        }
+                    }
+                    key.reset();
+                }
+                dispatchSettledFiles();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Inbox watcher stopped unexpectedly", e);
+        }
+    }
+
+    private void rescan() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(inboxDirectory)) {
+            for (Path file : files) {
+                observe(file);
+            }
+        } catch (IOException e) {
+            logger.error("Could not rescan inbox {}", inboxDirectory, e);
+        }
+    }
+
+    private void observe(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.toLowerCase().endsWith(".xlsx") || name.startsWith("~$") || name.startsWith(".") || inProgress.containsKey(file)) {
+            return;
+        }
+        pending.computeIfAbsent(file, ignored -> new PendingFile()).touch();
+    }
+
+    private void dispatchSettledFiles() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<Path, PendingFile>> iterator = pending.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<Path, PendingFile> entry = iterator.next();
+            Path file = entry.getKey();
+            PendingFile state = entry.getValue();
+
+            if (!Files.exists(file)) {
+                iterator.remove();
+                continue;
+            }
+            if (!state.isSettled(file, now, settleMs) || !isCompleteArchive(file)) {
+                continue;
+            }
+
+            iterator.remove();
+            inProgress.put(file, Boolean.TRUE);
+            try {
+                workers.execute(() -> processFile(file));
+            } catch (RejectedExecutionException e) {
+                inProgress.remove(file);
+                pending.put(file, state);
+                return;
+            }
+        }
+    }
+
+    /** The central directory is written last, so a copy still in progress does not open or has no entries yet. */
+    private boolean isCompleteArchive(Path file) {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            return zip.size() > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void processFile(Path file) {
+        String name = file.getFileName().toString();
+        long start = System.currentTimeMillis();
+        logger.info("Processing inbox file {}", name);
+
+        try {
+            EmployeeDirectoryService.Snapshot employees = employeeDirectory.getCurrent();
+            if (employees == null) {
+                throw new IOException("No employees file has been uploaded yet");
+            }
+
+            try (AdmissionControlService.Permit permit = admissionControl.acquire(Files.size(file))) {
+                logger.debug("Processing inbox file {} with an estimated {} MB", name, permit.getCostMb());
+                AbsenceBatch absences = excelReader.readAbsenceBatch(file.toString());
+                AbsenceResultBatch results = processor.processAbsences(absences, employees.getIndex());
+                absenceCalendar.update(results, name);
+                absenceHistory.record(results);
+
+                String baseName = name.substring(0, name.length() - ".xlsx".length());
+                String timestamp = LocalDateTime.now().format(TIMESTAMP);
+                Path output = outputDirectory.resolve("HR_RO_SMARTDISPO_ABSENCE_" + baseName + "_" + timestamp + ".xlsx");
+                Path partial = outputDirectory.resolve("." + output.getFileName() + ".part");
+                excelWriter.writeAbsenceResults(results, partial.toString());
+                Files.move(partial, output, StandardCopyOption.ATOMIC_MOVE);
+
+                moveTo(file, processedDirectory, timestamp);
+                logger.info("Inbox file {} processed: {} absences, {} matched, output {} ({} ms)",
+                        name, absences.size(), results.size(), output.getFileName(), System.currentTimeMillis() - start);
+            }
+        } catch (AdmissionRejectedException e) {
+            logger.info("Inbox file {} deferred: {}", name, e.getMessage());
+            inProgress.remove(file);
+            pending.computeIfAbsent(file, ignored -> new PendingFile()).touch();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Inbox file {} failed", name, e);
+            fail(file, e);
+        }
+        inProgress.remove(file);
+    }
+
+    private void fail(Path file, Exception cause) {
+        String timestamp = LocalDateTime.now().format(TIMESTAMP);
+        try {
+            Path moved = moveTo(file, failedDirectory, timestamp);
+            String message = cause.getClass().getSimpleName() + ": " + cause.getMessage() + System.lineSeparator();
+            Files.write(moved.resolveSibling(moved.getFileName() + ".error.txt"), message.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Could not move failed inbox file {}", file, e);
+        }
+    }
+
+    private Path moveTo(Path file, Path directory, String timestamp) throws IOException {
+        Path target = directory.resolve(file.getFileName());
+        if (Files.exists(target)) {
+            target = directory.resolve(timestamp + "_" + file.getFileName());
+        }
+        return Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static class PendingFile {
+        private long size = -1;
+        private long lastModified = -1;
+        private long lastChange;
+
+        void touch() {
+            lastChange = System.currentTimeMillis();
+        }
+
+        boolean isSettled(Path file, long now, long settleMs) {
+            try {
+                long currentSize = Files.size(file);
+                long currentModified = Files.getLastModifiedTime(file).toMillis();
+                if (currentSize != size || currentModified != lastModified) {
+                    size = currentSize;
+                    lastModified = currentModified;
+                    lastChange = now;
+                    return false;
+                }
+                return now - lastChange >= settleMs;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
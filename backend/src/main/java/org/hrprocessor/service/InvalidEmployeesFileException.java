@@ -0,0 +1,20 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.EmployeeValidationSummary;
+
+public class InvalidEmployeesFileException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    // Only read by the controller in the same JVM; a deserialized copy keeps just the message
+    private final transient EmployeeValidationSummary summary;
+
+    public InvalidEmployeesFileException(EmployeeValidationSummary summary) {
+        super(summary.getMessage());
+        this.summary = summary;
+    }
+
+    public EmployeeValidationSummary getSummary() {
+        return summary;
+    }
+}
@@ -0,0 +1,471 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.Employee;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * {@link EmployeeIndex} kept in a memory-mapped file, so that a master with millions of employees costs next to
+ * nothing on the heap. The file holds packed employee records, a table of record offsets by ordinal and an
+ * open-addressing hash table over the name keys. {@link #find} hashes and compares the name key char by char
+ * straight from the two name parts, without building the key string.
+ *
+ * <pre>
+ * header   magic, format, count, slot count, distinct keys, offsets of the three sections
+ * records  per employee: name key, user id, email, first name, last name (int length + UTF-16 chars), weekly hours
+ * offsets  long per ordinal, relative to the start of the records; records never cross a 1 GB mapping boundary
+ * slots    long per slot: high 32 bits of the key hash, ordinal + 1 (0 = empty)
+ * </pre>
+ */
+public class MappedEmployeeIndex implements EmployeeIndex {
+
+    private static final int MAGIC = 0x48524549;
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = 64;
+    // The slot table is one mapping of at most Integer.MAX_VALUE bytes and has at least two slots per employee, which
+    // also keeps every slot and ordinal byte offset within int range.
+    private static final int MAX_SLOTS = Integer.highestOneBit(Integer.MAX_VALUE / Long.BYTES);
+    private static final int MAX_EMPLOYEES = MAX_SLOTS / 2;
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // Locales whose lower-casing rules depend on context; keys are then built the slow way, like String.toLowerCase.
+    private static final boolean SIMPLE_LOWER_CASE = !Arrays.asList("tr", "az", "lt").contains(Locale.getDefault().getLanguage());
+
+    private final int count;
+    private final int slotMask;
+    private final int distinctNameKeys;
+    private final ByteBuffer[] records;
+    private final ByteBuffer offsets;
+    private final ByteBuffer slots;
+
+    private MappedEmployeeIndex(int count, int slotCount, int distinctNameKeys, ByteBuffer[] records, ByteBuffer offsets, ByteBuffer slots) {
+        this.count = count;
+        this.slotMask = slotCount - 1;
+        this.distinctNameKeys = distinctNameKeys;
+        this.records = records;
+        this.offsets = offsets;
+        this.slots = slots;
+    }
+
+    public static MappedEmployeeIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+            channel.read(header, 0);
+            header.flip();
+            if (header.getInt(0) != MAGIC || header.getInt(4) != FORMAT) {
+                throw new IOException("Not an employee index: " + file);
+            }
+            int count = header.getInt(8);
+            int slotCount = header.getInt(12);
+            int distinctNameKeys = header.getInt(16);
+            long recordsOffset = header.getLong(24);
+            long offsetsOffset = header.getLong(32);
+            long slotsOffset = header.getLong(40);
+
+            long recordsLength = offsetsOffset - recordsOffset;
+            ByteBuffer[] records = new ByteBuffer[(int) ((recordsLength + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+            for (int i = 0; i < records.length; i++) {
+                long start = (long) i << CHUNK_SHIFT;
+                records[i] = map(channel, recordsOffset + start, Math.min(CHUNK_SIZE, recordsLength - start));
+            }
+            ByteBuffer offsets = map(channel, offsetsOffset, (long) count * Long.BYTES);
+            ByteBuffer slots = map(channel, slotsOffset, (long) slotCount * Long.BYTES);
+            return new MappedEmployeeIndex(count, slotCount, distinctNameKeys, records, offsets, slots);
+        }
+    }
+
+    /** Starts writing a new index file. The header is written last, so an interrupted build never opens as an index. */
+    public static Builder builder(Path file) throws IOException {
+        return new Builder(file);
+    }
+
+    @Override
+    public int find(String firstName, String lastName) {
+        if (firstName == null || lastName == null || !SIMPLE_LOWER_CASE) {
+            return findKey(EmployeeIndex.nameKey(firstName, lastName));
+        }
+
+        int firstLength = firstName.length();
+        int length = firstLength + 1 + lastName.length();
+        int start = 0;
+        while (start < length && charAt(firstName, lastName, start) <= ' ') {
+            start++;
+        }
+        int end = length;
+        while (end > start && charAt(firstName, lastName, end - 1) <= ' ') {
+            end--;
+        }
+
+        long hash = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            char c = charAt(firstName, lastName, i);
+            if (!isSimple(c)) {
+                return findKey(EmployeeIndex.nameKey(firstName, lastName));
+            }
+            hash = (hash ^ lower(c)) * FNV_PRIME;
+        }
+
+        int slot = (int) hash & slotMask;
+        int hashHigh = (int) (hash >>> 32);
+        while (true) {
+            long entry = slots.getLong(slot * Long.BYTES);
+            if (entry == 0) {
+                return -1;
+            }
+            int ordinal = (int) entry - 1;
+            if ((int) (entry >>> 32) == hashHigh && keyEquals(ordinal, firstName, lastName, start, end)) {
+                return ordinal;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    @Override
+    public Employee get(int ordinal) {
+        long offset = recordOffset(ordinal);
+        ByteBuffer buffer = records[(int) (offset >>> CHUNK_SHIFT)];
+        int position = (int) (offset & (CHUNK_SIZE - 1));
+
+        position = skipString(buffer, position);
+        Employee employee = new Employee();
+        employee.setUserId(readString(buffer, position));
+        position = skipString(buffer, position);
+        employee.setEmail(readString(buffer, position));
+        position = skipString(buffer, position);
+        employee.setFirstName(readString(buffer, position));
+        position = skipString(buffer, position);
+        employee.setLastName(readString(buffer, position));
+        position = skipString(buffer, position);
+        employee.setWeeklyWorkingHours(buffer.getInt(position));
+        return employee;
+    }
+
+    @Override
+    public String getUserId(int ordinal) {
+        long offset = recordOffset(ordinal);
+        ByteBuffer buffer = records[(int) (offset >>> CHUNK_SHIFT)];
+        int position = (int) (offset & (CHUNK_SIZE - 1));
+        return readString(buffer, skipString(buffer, position));
+    }
+
+    @Override
+    public String getEmail(int ordinal) {
+        long offset = recordOffset(ordinal);
+        ByteBuffer buffer = records[(int) (offset >>> CHUNK_SHIFT)];
+        int position = (int) (offset & (CHUNK_SIZE - 1));
+        return readString(buffer, skipString(buffer, skipString(buffer, position)));
+    }
+
+    @Override
+    public int getWeeklyWorkingHours(int ordinal) {
+        long offset = recordOffset(ordinal);
+        ByteBuffer buffer = records[(int) (offset >>> CHUNK_SHIFT)];
+        int position = (int) (offset & (CHUNK_SIZE - 1));
+        for (int i = 0; i < 5; i++) {
+            position = skipString(buffer, position);
+        }
+        return buffer.getInt(position);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int distinctNameKeys() {
+        return distinctNameKeys;
+    }
+
+    private int findKey(String key) {
+        long hash = hash(key);
+        int slot = (int) hash & slotMask;
+        int hashHigh = (int) (hash >>> 32);
+        while (true) {
+            long entry = slots.getLong(slot * Long.BYTES);
+            if (entry == 0) {
+                return -1;
+            }
+            int ordinal = (int) entry - 1;
+            if ((int) (entry >>> 32) == hashHigh && keyEquals(ordinal, key)) {
+                return ordinal;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    private boolean keyEquals(int ordinal, String firstName, String lastName, int start, int end) {
+        long offset = recordOffset(ordinal);
+        ByteBuffer buffer = records[(int) (offset >>> CHUNK_SHIFT)];
+        int position = (int) (offset & (CHUNK_SIZE - 1));
+
+        if (buffer.getInt(position) != end - start) {
+            return false;
+        }
+        position += Integer.BYTES;
+        for (int i = start; i < end; i++, position += Character.BYTES) {
+            if (buffer.getChar(position) != lower(charAt(firstName, lastName, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean keyEquals(int ordinal, String key) {
+        long offset = recordOffset(ordinal);
+        ByteBuffer buffer = records[(int) (offset >>> CHUNK_SHIFT)];
+        int position = (int) (offset & (CHUNK_SIZE - 1));
+        return stringEquals(buffer, position, key);
+    }
+
+    private long recordOffset(int ordinal) {
+        return offsets.getLong(ordinal * Long.BYTES);
+    }
+
+    private static char charAt(String firstName, String lastName, int index) {
+        int firstLength = firstName.length();
+        if (index < firstLength) {
+            return firstName.charAt(index);
+        }
+        return index == firstLength ? ' ' : lastName.charAt(index - firstLength - 1);
+    }
+
+    /** Chars whose lower case does not depend on their neighbours, so char-wise lowering equals String.toLowerCase. */
+    private static boolean isSimple(char c) {
+        return c < 0x80 || (c != 'İ' && c != 'Σ' && !Character.isSurrogate(c));
+    }
+
+    private static char lower(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static long hash(String key) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static boolean stringEquals(ByteBuffer buffer, int position, String value) {
+        if (buffer.getInt(position) != value.length()) {
+            return false;
+        }
+        position += Integer.BYTES;
+        for (int i = 0; i < value.length(); i++, position += Character.BYTES) {
+            if (buffer.getChar(position) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipString(ByteBuffer buffer, int position) {
+        return position + Integer.BYTES + buffer.getInt(position) * Character.BYTES;
+    }
+
+    private static String readString(ByteBuffer buffer, int position) {
+        char[] chars = new char[buffer.getInt(position)];
+        position += Integer.BYTES;
+        for (int i = 0; i < chars.length; i++, position += Character.BYTES) {
+            chars[i] = buffer.getChar(position);
+        }
+        return new String(chars);
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Streams employees into a new index file. Only the record offsets (8 bytes per employee) are kept on the heap
+     * while building; the hash table is filled in place in the mapped file.
+     */
+    public static class Builder implements Closeable {
+
+        private static final int SAMPLE_SIZE = 20;
+
+        private final Path file;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.nativeOrder());
+        private long[] recordOffsets = new long[1024];
+        private int count;
+        private long recordsLength;
+        private int duplicateNameKeys;
+        private final List<String> sampleDuplicateNameKeys = new ArrayList<>();
+        private boolean built;
+
+        private Builder(Path file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(HEADER_SIZE);
+        }
+
+        public void add(Employee employee) throws IOException {
+            String key = EmployeeIndex.nameKey(employee.getFirstName(), employee.getLastName());
+            String[] values = {key, Objects.toString(employee.getUserId(), ""), Objects.toString(employee.getEmail(), ""),
+                    Objects.toString(employee.getFirstName(), ""), Objects.toString(employee.getLastName(), "")};
+
+            int length = Integer.BYTES;
+            for (String value : values) {
+                length += Integer.BYTES + value.length() * Character.BYTES;
+            }
+            if (count == MAX_EMPLOYEES) {
+                throw new IOException("Employee index is limited to " + MAX_EMPLOYEES + " employees");
+            }
+
+            long chunkRemaining = CHUNK_SIZE - (recordsLength & (CHUNK_SIZE - 1));
+            if (length > chunkRemaining) {
+                pad(chunkRemaining);
+            }
+            if (count == recordOffsets.length) {
+                recordOffsets = Arrays.copyOf(recordOffsets, count * 2);
+            }
+            recordOffsets[count++] = recordsLength;
+
+            ByteBuffer target = length <= buffer.capacity() ? buffer : ByteBuffer.allocate(length).order(ByteOrder.nativeOrder());
+            if (target != buffer || buffer.remaining() < length) {
+                flush();
+            }
+            for (String value : values) {
+                target.putInt(value.length());
+                for (int i = 0; i < value.length(); i++) {
+                    target.putChar(value.charAt(i));
+                }
+            }
+            target.putInt(employee.getWeeklyWorkingHours());
+            if (target != buffer) {
+                target.flip();
+                writeFully(target);
+            }
+            recordsLength += length;
+        }
+
+        public int getDuplicateNameKeys() {
+            return duplicateNameKeys;
+        }
+
+        public List<String> getSampleDuplicateNameKeys() {
+            return sampleDuplicateNameKeys;
+        }
+
+        public MappedEmployeeIndex build() throws IOException {
+            flush();
+            int slotCount = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+            long recordsOffset = HEADER_SIZE;
+            long offsetsOffset = recordsOffset + recordsLength;
+            long slotsOffset = offsetsOffset + (long) count * Long.BYTES;
+
+            ByteBuffer offsets = channel.map(FileChannel.MapMode.READ_WRITE, offsetsOffset, (long) count * Long.BYTES).order(ByteOrder.nativeOrder());
+            for (int i = 0; i < count; i++) {
+                offsets.putLong(i * Long.BYTES, recordOffsets[i]);
+            }
+            ByteBuffer[] records = new ByteBuffer[(int) ((recordsLength + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+            for (int i = 0; i < records.length; i++) {
+                long start = (long) i << CHUNK_SHIFT;
+                records[i] = channel.map(FileChannel.MapMode.READ_ONLY, recordsOffset + start, Math.min(CHUNK_SIZE, recordsLength - start)).order(ByteOrder.nativeOrder());
+            }
+            ByteBuffer slots = channel.map(FileChannel.MapMode.READ_WRITE, slotsOffset, (long) slotCount * Long.BYTES).order(ByteOrder.nativeOrder());
+            int distinctNameKeys = fillSlots(records, slots, slotCount - 1);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+            header.putInt(0, MAGIC).putInt(4, FORMAT).putInt(8, count).putInt(12, slotCount).putInt(16, distinctNameKeys)
+                    .putLong(24, recordsOffset).putLong(32, offsetsOffset).putLong(40, slotsOffset);
+            channel.write(header, 0);
+            ((MappedByteBuffer) offsets).force();
+            ((MappedByteBuffer) slots).force();
+            channel.force(true);
+            channel.close();
+
+            built = true;
+            recordOffsets = null;
+            return open(file);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel.isOpen()) {
+                channel.close();
+            }
+            if (!built) {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        private int fillSlots(ByteBuffer[] records, ByteBuffer slots, int slotMask) {
+            BitSet reported = new BitSet();
+            int distinct = 0;
+            for (int ordinal = 0; ordinal < count; ordinal++) {
+                ByteBuffer record = records[(int) (recordOffsets[ordinal] >>> CHUNK_SHIFT)];
+                int position = (int) (recordOffsets[ordinal] & (CHUNK_SIZE - 1));
+                String key = readString(record, position);
+                long hash = hash(key);
+
+                int slot = (int) hash & slotMask;
+                while (true) {
+                    long entry = slots.getLong(slot * Long.BYTES);
+                    if (entry == 0) {
+                        distinct++;
+                        break;
+                    }
+                    long existing = recordOffsets[(int) entry - 1];
+                    if ((int) (entry >>> 32) == (int) (hash >>> 32)
+                            && stringEquals(records[(int) (existing >>> CHUNK_SHIFT)], (int) (existing & (CHUNK_SIZE - 1)), key)) {
+                        if (!reported.get(slot)) {
+                            reported.set(slot);
+                            duplicateNameKeys++;
+                            if (sampleDuplicateNameKeys.size() < SAMPLE_SIZE) {
+                                sampleDuplicateNameKeys.add(key);
+                            }
+                        }
+                        break;
+                    }
+                    slot = (slot + 1) & slotMask;
+                }
+                // Later employees replace earlier ones with the same key, like the heap index.
+                slots.putLong(slot * Long.BYTES, ((hash >>> 32) << 32) | (ordinal + 1L));
+            }
+            return distinct;
+        }
+
+        private void pad(long bytes) throws IOException {
+            flush();
+            channel.position(channel.position() + bytes);
+            recordsLength += bytes;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        private void writeFully(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.hrprocessor.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded platform-thread pool for the CPU-bound part of a job (parsing, matching, writing). Request handling runs
+ * on virtual threads, which only park while waiting for the result here, so slow uploads and downloads never hold
+ * on to one of these threads.
+ */
+@Service
+public class ProcessingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessingExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor sheetExecutor;
+
+    public ProcessingExecutor(@Value("${hr.processor.cpu-threads:0}") int threads,
+                              @Value("${hr.processor.cpu-queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "hr-cpu-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        // Sheets of one workbook are parsed here while the job itself waits on a thread of the main pool, so they
+        // need their own threads; the number of jobs is already bounded by the main pool and admission control.
+        AtomicInteger sheetCounter = new AtomicInteger();
+        this.sheetExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "hr-sheet-" + sheetCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        logger.info("Processing executor started with {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    public <T> T call(Callable<T> task) throws Exception {
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    public ExecutorService getExecutorService() {
+        return executor;
+    }
+
+    public ExecutorService getSheetExecutorService() {
+        return sheetExecutor;
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return executor.getQueue().size() + executor.getQueue().remainingCapacity();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        sheetExecutor.shutdown();
+    }
+}
@@ -0,0 +1,34 @@
+package org.hrprocessor.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/** Executor and admission-control load; out of service while the processing queue is full and new jobs get 503. */
+@Component
+public class ProcessingHealthIndicator implements HealthIndicator {
+
+    private final ProcessingExecutor processingExecutor;
+    private final AdmissionControlService admissionControl;
+
+    public ProcessingHealthIndicator(ProcessingExecutor processingExecutor, AdmissionControlService admissionControl) {
+        this.processingExecutor = processingExecutor;
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public Health health() {
+        int queueDepth = processingExecutor.getQueueDepth();
+        int queueCapacity = processingExecutor.getQueueCapacity();
+        Health.Builder builder = queueDepth < queueCapacity ? Health.up() : Health.outOfService();
+        return builder.withDetail("threads", processingExecutor.getPoolSize())
+                .withDetail("activeThreads", processingExecutor.getActiveCount())
+                .withDetail("queueDepth", queueDepth)
+                .withDetail("queueCapacity", queueCapacity)
+                .withDetail("inFlightJobs", admissionControl.getActiveJobs())
+                .withDetail("waitingJobs", admissionControl.getQueuedJobs())
+                .withDetail("memoryBudgetMb", admissionControl.getBudgetMb())
+                .withDetail("availableMb", admissionControl.getAvailableMb())
+                .build();
+    }
+}
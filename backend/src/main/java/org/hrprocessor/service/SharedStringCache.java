@@ -0,0 +1,31 @@
+package org.hrprocessor.service;
+
+import org.apache.poi.xssf.model.SharedStrings;
+
+/**
+ * Trimmed values of a workbook's shared strings, decoded on first use. Every cell that refers to the same entry gets
+ * the same {@code String} instance, so names, statuses and time types repeated over thousands of rows are held once.
+ * Sheets parsed in parallel share one cache; two threads may both decode an entry, which only costs a duplicate.
+ */
+final class SharedStringCache {
+
+    private final SharedStrings sharedStrings;
+    private final String[] values;
+
+    SharedStringCache(SharedStrings sharedStrings) {
+        this.sharedStrings = sharedStrings;
+        this.values = new String[Math.max(0, sharedStrings.getUniqueCount())];
+    }
+
+    String get(int index) {
+        if (index >= values.length) {
+            return sharedStrings.getItemAt(index).getString().trim();
+        }
+        String value = values[index];
+        if (value == null) {
+            value = sharedStrings.getItemAt(index).getString().trim();
+            values[index] = value;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,424 @@
+package org.hrprocessor.service;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackagePartName;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.hrprocessor.model.Absence;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.model.EmployeeValidationSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Event-based reader with the same rules as {@link ExcelReaderService}. Sheets are parsed with SAX straight from
+ * the zip entry, so memory use does not grow with the size of the workbook beyond the shared-strings table.
+ */
+public class StreamingExcelReaderService implements WorkbookReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingExcelReaderService.class);
+    private static final int SAMPLE_SIZE = 20;
+
+    private final ExecutorService sheetExecutor;
+
+    public StreamingExcelReaderService() {
+        this(null);
+    }
+
+    public StreamingExcelReaderService(ExecutorService sheetExecutor) {
+        this.sheetExecutor = sheetExecutor;
+    }
+
+    @Override
+    public List<Employee> readEmployees(String filePath) throws IOException {
+        return readEmployees(filePath, null);
+    }
+
+    /**
+     * Reads employees with the usual rules and, when a summary is given, records how many data rows were seen and
+     * which of them were rejected.
+     */
+    public List<Employee> readEmployees(String filePath, EmployeeValidationSummary summary) throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        readEmployees(filePath, summary, employees::add);
+        return employees;
+    }
+
+    /** Hands each accepted employee to the sink instead of collecting them, for masters too large to hold as objects. */
+    public int readEmployees(String filePath, EmployeeValidationSummary summary, EmployeeSink sink) throws IOException {
+        logger.info("Streaming employees from: {}", filePath);
+        int[] accepted = new int[1];
+        SheetLayout layout = new SheetLayout(ColumnLayout.EMPLOYEES);
+
+        try {
+            readFirstSheet(() -> OPCPackage.open(new File(filePath), PackageAccess.READ), filePath,
+                    row -> readEmployee(row, layout.forDataRow(row), summary, sink, accepted));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        logger.info("Total employees read: {}", accepted[0]);
+        return accepted[0];
+    }
+
+    private void readEmployee(StreamingRow row, ColumnLayout layout, EmployeeValidationSummary summary, EmployeeSink sink, int[] accepted) {
+        if (layout == null) {
+            return;
+        }
+        Employee employee = null;
+        try {
+            Employee candidate = new Employee();
+            candidate.setUserId(row.getString(layout.column(ColumnLayout.EMPLOYEE_USER_ID)));
+            candidate.setLastName(row.getString(layout.column(ColumnLayout.EMPLOYEE_LAST_NAME)));
+            candidate.setFirstName(row.getString(layout.column(ColumnLayout.EMPLOYEE_FIRST_NAME)));
+            candidate.setEmail(row.getString(layout.column(ColumnLayout.EMPLOYEE_EMAIL)));
+            candidate.setWeeklyWorkingHours(row.getInt(layout.column(ColumnLayout.EMPLOYEE_WEEKLY_HOURS)));
+
+            if (!candidate.getUserId().isEmpty() && !candidate.getEmail().isEmpty()) {
+                employee = candidate;
+            }
+        } catch (Exception e) {
+            logger.error("Error processing employee at row {}: {}", row.getRowIndex(), e.getMessage());
+        }
+        if (employee != null) {
+            try {
+                sink.accept(employee);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            accepted[0]++;
+        }
+        if (summary != null) {
+            summary.setRows(summary.getRows() + 1);
+            if (employee == null) {
+                summary.setRejected(summary.getRejected() + 1);
+                if (summary.getSampleRejectedRows().size() < SAMPLE_SIZE) {
+                    summary.getSampleRejectedRows().add(row.getRowIndex() + 1);
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<Absence> readAbsences(String filePath) throws IOException {
+        return readAbsenceBatch(filePath, null).asList();
+    }
+
+    public List<Absence> readAbsences(String filePath, List<String> sheetSelection) throws IOException {
+        return readAbsenceBatch(filePath, sheetSelection).asList();
+    }
+
+    public List<Absence> readAbsences(InputStream in, String name) throws IOException {
+        return readAbsenceBatch(in, name).asList();
+    }
+
+    @Override
+    public AbsenceBatch readAbsenceBatch(String filePath) throws IOException {
+        return readAbsenceBatch(filePath, null);
+    }
+
+    /**
+     * Reads absences from the selected sheets of a workbook: {@code null} or empty for the first sheet, {@code "*"}
+     * for all of them, otherwise sheet names or 1-based sheet numbers. With a sheet executor the sheets are parsed
+     * concurrently, each from its own package over the same file; results always come back in workbook order.
+     */
+    @Override
+    public AbsenceBatch readAbsenceBatch(String filePath, List<String> sheetSelection) throws IOException {
+        logger.info("Streaming absences from: {}", filePath);
+        return readAbsences(() -> OPCPackage.open(new File(filePath), PackageAccess.READ), filePath, sheetSelection, true);
+    }
+
+    /**
+     * Reads an absences workbook straight from a stream, e.g. an upload that is still held in memory. The package is
+     * buffered by POI, so this is meant for small inputs; large files should be read from disk for random access.
+     */
+    public AbsenceBatch readAbsenceBatch(InputStream in, String name) throws IOException {
+        logger.info("Streaming absences from stream: {}", name);
+        return readAbsences(() -> OPCPackage.open(in), name, null, false);
+    }
+
+    private AbsenceBatch readAbsences(PackageOpener opener, String name, List<String> sheetSelection, boolean reopenable) throws IOException {
+        try (OPCPackage pkg = opener.open()) {
+            XSSFReader reader = new XSSFReader(pkg);
+            SharedStringCache sharedStrings = new SharedStringCache(new ReadOnlySharedStringsTable(pkg, false));
+            List<SheetRef> sheets = selectSheets(reader, sheetSelection);
+            boolean date1904 = isDate1904(reader);
+
+            List<SheetAbsences> parsed = new ArrayList<>(sheets.size());
+            if (sheets.size() > 1 && reopenable && sheetExecutor != null) {
+                // The shared-strings table is read-only once loaded and is shared; everything else is per task.
+                List<Future<SheetAbsences>> futures = new ArrayList<>(sheets.size());
+                for (SheetRef sheet : sheets) {
+                    futures.add(sheetExecutor.submit(() -> {
+                        try (OPCPackage own = opener.open()) {
+                            return readAbsenceSheet(own, new XSSFReader(own).getStylesTable(), sharedStrings, date1904, sheet);
+                        }
+                    }));
+                }
+                for (Future<SheetAbsences> future : futures) {
+                    parsed.add(await(future, futures));
+                }
+            } else {
+                StylesTable styles = reader.getStylesTable();
+                for (SheetRef sheet : sheets) {
+                    parsed.add(readAbsenceSheet(pkg, styles, sharedStrings, date1904, sheet));
+                }
+            }
+
+            AbsenceBatch absences = parsed.size() == 1 ? parsed.get(0).absences : new AbsenceBatch(parsed.stream().mapToInt(sheet -> sheet.absences.size()).sum());
+            int skipped = 0;
+            int excluded = 0;
+            int errors = 0;
+            for (SheetAbsences sheet : parsed) {
+                if (sheet.absences != absences) {
+                    absences.addAll(sheet.absences);
+                }
+                skipped += sheet.skipped;
+                excluded += sheet.excluded;
+                errors += sheet.errors;
+            }
+            logger.info("Total absences read: {} from {} sheet(s), not approved: {}, excluded time types: {}, errors: {}",
+                    absences.size(), parsed.size(), skipped, excluded, errors);
+            return absences;
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException("Could not read workbook " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    private SheetAbsences readAbsenceSheet(OPCPackage pkg, StylesTable styles, SharedStringCache sharedStrings, boolean date1904,
+                                           SheetRef sheet)
+            throws IOException, SAXException, OpenXML4JException {
+        SheetAbsences result = new SheetAbsences();
+        PackagePart part = pkg.getPart(sheet.partName);
+        if (part == null) {
+            throw new InvalidFormatException("Sheet part " + sheet.partName + " not found");
+        }
+
+        SheetLayout sheetLayout = new SheetLayout(ColumnLayout.ABSENCES);
+        AbsenceFilter.Matcher filter = AbsenceFilter.current().newMatcher();
+        try (InputStream in = part.getInputStream()) {
+            parseSheet(in, new StreamingRow(sharedStrings, styles, date1904), row -> {
+                ColumnLayout layout = sheetLayout.forDataRow(row);
+                if (layout == null) {
+                    return;
+                }
+                int i = row.getRowIndex();
+                try {
+                    if (!filter.acceptsStatus(row, layout.column(ColumnLayout.ABSENCE_APPROVAL_STATUS))) {
+                        result.skipped++;
+                        return;
+                    }
+                    if (filter.excludesTimeType(row, layout.column(ColumnLayout.ABSENCE_TIME_TYPE))) {
+                        result.excluded++;
+                        return;
+                    }
+
+                    String firstName = row.getString(layout.column(ColumnLayout.ABSENCE_FIRST_NAME));
+                    String lastName = row.getString(layout.column(ColumnLayout.ABSENCE_LAST_NAME));
+                    int startDay = row.getEpochDay(layout.column(ColumnLayout.ABSENCE_START_DATE));
+                    int endDay = row.getEpochDay(layout.column(ColumnLayout.ABSENCE_END_DATE));
+
+                    if (firstName.isEmpty() || lastName.isEmpty()) {
+                        throw new RuntimeException("Missing employee name");
+                    }
+
+                    result.absences.add(firstName, lastName, startDay, endDay);
+                } catch (RuntimeException e) {
+                    result.errors++;
+                    logger.error("Error processing absence at row {} of sheet {}: {}", i, sheet.name, e.getMessage());
+                }
+            });
+        }
+        logger.debug("Sheet {}: {} absences", sheet.name, result.absences.size());
+        return result;
+    }
+
+    private static List<SheetRef> selectSheets(XSSFReader reader, List<String> selection) throws IOException, InvalidFormatException {
+        List<SheetRef> all = new ArrayList<>();
+        XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (iterator.hasNext()) {
+            iterator.next().close();
+            all.add(new SheetRef(iterator.getSheetName(), iterator.getSheetPart().getPartName()));
+        }
+
+        if (selection == null || selection.isEmpty()) {
+            return all.isEmpty() ? all : all.subList(0, 1);
+        }
+        if (selection.contains("*")) {
+            return all;
+        }
+
+        boolean[] selected = new boolean[all.size()];
+        for (String entry : selection) {
+            String wanted = entry.trim();
+            int match = -1;
+            for (int i = 0; i < all.size() && match < 0; i++) {
+                if (all.get(i).name.equalsIgnoreCase(wanted)) {
+                    match = i;
+                }
+            }
+            if (match < 0 && wanted.matches("\\d+")) {
+                int number = Integer.parseInt(wanted);
+                match = number >= 1 && number <= all.size() ? number - 1 : -1;
+            }
+            if (match < 0) {
+                throw new IllegalArgumentException("Workbook has no sheet '" + wanted + "'");
+            }
+            selected[match] = true;
+        }
+
+        List<SheetRef> sheets = new ArrayList<>();
+        for (int i = 0; i < all.size(); i++) {
+            if (selected[i]) {
+                sheets.add(all.get(i));
+            }
+        }
+        return sheets;
+    }
+
+    private static SheetAbsences await(Future<SheetAbsences> future, List<Future<SheetAbsences>> all) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            all.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading sheets");
+        } catch (ExecutionException e) {
+            all.forEach(f -> f.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    private void readFirstSheet(PackageOpener opener, String name, Consumer<StreamingRow> consumer) throws IOException {
+        try (OPCPackage pkg = opener.open()) {
+            XSSFReader reader = new XSSFReader(pkg);
+            SharedStringCache sharedStrings = new SharedStringCache(new ReadOnlySharedStringsTable(pkg, false));
+            StylesTable styles = reader.getStylesTable();
+            boolean date1904 = isDate1904(reader);
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                parseSheet(sheet, new StreamingRow(sharedStrings, styles, date1904), consumer);
+            }
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException("Could not read workbook " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Whether the workbook part sets workbookPr date1904, i.e. serial dates count from 1904-01-01. */
+    static boolean isDate1904(XSSFReader reader) throws IOException, InvalidFormatException, SAXException {
+        boolean[] date1904 = new boolean[1];
+        try (InputStream in = reader.getWorkbookData()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        String value = attributes.getValue("date1904");
+                        date1904[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    }
+                }
+            });
+            parser.parse(new InputSource(in));
+        } catch (ParserConfigurationException e) {
+            throw new IOException("SAX parser not available", e);
+        }
+        return date1904[0];
+    }
+
+    static void parseSheet(InputStream sheet, StreamingRow row, Consumer<StreamingRow> consumer) throws IOException, SAXException {
+        try {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new StreamingSheetHandler(row, consumer));
+            parser.parse(new InputSource(sheet));
+        } catch (ParserConfigurationException e) {
+            throw new IOException("SAX parser not available", e);
+        }
+    }
+
+    public interface EmployeeSink {
+        void accept(Employee employee) throws IOException;
+    }
+
+    /**
+     * Resolves the column layout while the first rows of a sheet stream past: rows above the historical first data
+     * row are offered to the detector until one is a header, and without one the historical positions are used.
+     */
+    private static final class SheetLayout {
+        private final ColumnLayout.Detector detector;
+        private ColumnLayout layout;
+
+        SheetLayout(ColumnLayout.Detector detector) {
+            this.detector = detector;
+        }
+
+        /** The layout to read this row with, or {@code null} if it is a header, preamble or empty row. */
+        ColumnLayout forDataRow(StreamingRow row) {
+            if (layout == null) {
+                if (row.getRowIndex() < detector.legacy().getFirstDataRow()) {
+                    layout = detector.detect(row.getRowIndex(), row.getStrings());
+                    return null;
+                }
+                layout = detector.legacy();
+                logger.debug("No {} header found, using default column positions", detector);
+            }
+            return row.getRowIndex() < layout.getFirstDataRow() || row.isEmpty() ? null : layout;
+        }
+    }
+
+    private static class SheetRef {
+        private final String name;
+        private final PackagePartName partName;
+
+        SheetRef(String name, PackagePartName partName) {
+            this.name = name;
+            this.partName = partName;
+        }
+    }
+
+    private static class SheetAbsences {
+        private final AbsenceBatch absences = new AbsenceBatch();
+        private int skipped;
+        private int excluded;
+        private int errors;
+    }
+
+    private interface PackageOpener {
+        OPCPackage open() throws IOException, OpenXML4JException;
+    }
+}
@@ -0,0 +1,220 @@
+package org.hrprocessor.service;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+import java.util.Arrays;
+
+/**
+ * One row of a sheet as seen by the SAX parser. Cell values stay in their raw form (shared-string index, double,
+ * inline text) until a reader asks for them, and the arrays are reused from row to row.
+ */
+final class StreamingRow {
+
+    static final byte BLANK = 0;
+    static final byte SHARED_STRING = 1;
+    static final byte INLINE_STRING = 2;
+    static final byte NUMBER = 3;
+    static final byte BOOLEAN = 4;
+    static final byte ERROR = 5;
+
+    private static final byte STYLE_UNKNOWN = 0;
+    private static final byte STYLE_DATE = 1;
+    private static final byte STYLE_OTHER = 2;
+
+    private final SharedStringCache sharedStrings;
+    private final StringInterner inlineStrings = new StringInterner();
+    private final StylesTable styles;
+    private final boolean date1904;
+    private byte[] dateStyles = new byte[64];
+
+    private int rowIndex;
+    private int stamp;
+    private int lastColumn = -1;
+    private boolean hasValue;
+    private int[] stamps = new int[32];
+    private byte[] types = new byte[32];
+    private int[] sharedIndexes = new int[32];
+    private double[] numbers = new double[32];
+    private String[] texts = new String[32];
+    private int[] styleIndexes = new int[32];
+
+    StreamingRow(SharedStringCache sharedStrings, StylesTable styles, boolean date1904) {
+        this.sharedStrings = sharedStrings;
+        this.styles = styles;
+        this.date1904 = date1904;
+    }
+
+    void reset(int rowIndex) {
+        this.rowIndex = rowIndex;
+        this.lastColumn = -1;
+        this.hasValue = false;
+        this.stamp++;
+    }
+
+    void setSharedString(int column, int sharedIndex, int style) {
+        int slot = slot(column, SHARED_STRING, style);
+        sharedIndexes[slot] = sharedIndex;
+    }
+
+    void setInlineString(int column, String text, int style) {
+        int slot = slot(column, INLINE_STRING, style);
+        texts[slot] = text;
+    }
+
+    void setNumber(int column, double value, int style) {
+        int slot = slot(column, NUMBER, style);
+        numbers[slot] = value;
+        hasValue = true;
+    }
+
+    void setBoolean(int column, boolean value, int style) {
+        int slot = slot(column, BOOLEAN, style);
+        numbers[slot] = value ? 1 : 0;
+        hasValue = true;
+    }
+
+    void setError(int column, int style) {
+        slot(column, ERROR, style);
+    }
+
+    private int slot(int column, byte type, int style) {
+        if (column >= stamps.length) {
+            int size = Math.max(column + 1, stamps.length * 2);
+            stamps = Arrays.copyOf(stamps, size);
+            types = Arrays.copyOf(types, size);
+            sharedIndexes = Arrays.copyOf(sharedIndexes, size);
+            numbers = Arrays.copyOf(numbers, size);
+            texts = Arrays.copyOf(texts, size);
+            styleIndexes = Arrays.copyOf(styleIndexes, size);
+        }
+        stamps[column] = stamp;
+        types[column] = type;
+        styleIndexes[column] = style;
+        lastColumn = Math.max(lastColumn, column);
+        return column;
+    }
+
+    int getRowIndex() {
+        return rowIndex;
+    }
+
+    byte getType(int column) {
+        return column >= 0 && column <= lastColumn && stamps[column] == stamp ? types[column] : BLANK;
+    }
+
+    /** The shared-strings index of a text cell, or -1 if the cell holds anything else. */
+    int getSharedIndex(int column) {
+        return getType(column) == SHARED_STRING ? sharedIndexes[column] : -1;
+    }
+
+    String[] getStrings() {
+        String[] values = new String[lastColumn + 1];
+        for (int column = 0; column <= lastColumn; column++) {
+            values[column] = getString(column);
+        }
+        return values;
+    }
+
+    /** A number or boolean anywhere makes the row non-empty; only text cells have to be looked at. */
+    boolean isEmpty() {
+        if (hasValue) {
+            return false;
+        }
+        for (int column = 0; column <= lastColumn; column++) {
+            byte type = getType(column);
+            if (type == SHARED_STRING && !sharedStrings.get(sharedIndexes[column]).isEmpty()
+                    || type == INLINE_STRING && !ExcelReaderService.isBlank(texts[column])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String getString(int column) {
+        switch (getType(column)) {
+            case SHARED_STRING:
+                return sharedStrings.get(sharedIndexes[column]);
+            case INLINE_STRING:
+                return inlineStrings.intern(texts[column].trim());
+            case NUMBER:
+                if (isDateFormatted(column)) {
+                    return DateUtil.getJavaDate(numbers[column]).toString();
+                }
+                return String.valueOf((long) numbers[column]);
+            case BOOLEAN:
+                return String.valueOf(numbers[column] != 0);
+            default:
+                return "";
+        }
+    }
+
+    int getInt(int column) {
+        switch (getType(column)) {
+            case NUMBER:
+                return (int) Math.round(numbers[column]);
+            case SHARED_STRING:
+            case INLINE_STRING:
+                try {
+                    String value = getType(column) == SHARED_STRING
+                            ? sharedStrings.get(sharedIndexes[column])
+                            : texts[column];
+                    return (int) Math.round(Double.parseDouble(value));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Same contract as the DOM reader: a missing cell is an incomplete record, an unparseable value is reported as
+     * an invalid format, and every accepted date passes the plausibility checks.
+     */
+    int getEpochDay(int column) {
+        byte type = getType(column);
+        if (type == BLANK) {
+            throw new RuntimeException("Date cell is missing - absence record incomplete");
+        }
+
+        try {
+            int day;
+            if (type == NUMBER && isDateFormatted(column)) {
+                day = DateValues.epochDayFromExcelSerial(numbers[column], date1904);
+            } else if (type == SHARED_STRING || type == INLINE_STRING) {
+                day = DateValues.epochDayFromString(type == SHARED_STRING
+                        ? sharedStrings.get(sharedIndexes[column])
+                        : texts[column]);
+            } else {
+                throw new IllegalArgumentException("Unsupported cell type for date");
+            }
+            DateValues.validate(day);
+            return day;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid date format in cell: " + e.getMessage());
+        } catch (Exception e) {
+            throw new RuntimeException("Could not parse date from cell: " + e.getMessage());
+        }
+    }
+
+    private boolean isDateFormatted(int column) {
+        return DateUtil.isValidExcelDate(numbers[column]) && isDateStyle(styleIndexes[column]);
+    }
+
+    private boolean isDateStyle(int styleIndex) {
+        if (styles == null || styleIndex < 0) {
+            return false;
+        }
+        if (styleIndex >= dateStyles.length) {
+            dateStyles = Arrays.copyOf(dateStyles, Math.max(styleIndex + 1, dateStyles.length * 2));
+        }
+        if (dateStyles[styleIndex] == STYLE_UNKNOWN) {
+            XSSFCellStyle style = styles.getStyleAt(styleIndex);
+            boolean date = style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+            dateStyles[styleIndex] = date ? STYLE_DATE : STYLE_OTHER;
+        }
+        return dateStyles[styleIndex] == STYLE_DATE;
+    }
+}
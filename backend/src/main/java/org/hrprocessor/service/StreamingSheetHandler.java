@@ -0,0 +1,139 @@
+package org.hrprocessor.service;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.function.Consumer;
+
+/**
+ * SAX handler for a worksheet part. Hands every row that has at least one value to the consumer; rows without
+ * cells never reach it.
+ */
+final class StreamingSheetHandler extends DefaultHandler {
+
+    private final StreamingRow row;
+    private final Consumer<StreamingRow> consumer;
+    private final StringBuilder value = new StringBuilder(64);
+
+    private int nextRowIndex;
+    private int nextColumn;
+    private boolean rowHasCells;
+
+    private int column;
+    private int style;
+    private String cellType;
+    private boolean inValue;
+    private boolean inInlineText;
+    private boolean cellHasValue;
+
+    StreamingSheetHandler(StreamingRow row, Consumer<StreamingRow> consumer) {
+        this.row = row;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (localName) {
+            case "row":
+                String r = attributes.getValue("r");
+                int rowIndex = r != null ? Integer.parseInt(r) - 1 : nextRowIndex;
+                row.reset(rowIndex);
+                nextRowIndex = rowIndex + 1;
+                nextColumn = 0;
+                rowHasCells = false;
+                break;
+            case "c":
+                String ref = attributes.getValue("r");
+                column = ref != null ? columnIndex(ref) : nextColumn;
+                nextColumn = column + 1;
+                cellType = attributes.getValue("t");
+                String s = attributes.getValue("s");
+                style = s != null ? Integer.parseInt(s) : -1;
+                value.setLength(0);
+                cellHasValue = false;
+                break;
+            case "v":
+                inValue = true;
+                value.setLength(0);
+                break;
+            case "t":
+                inInlineText = "inlineStr".equals(cellType);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (inValue || inInlineText) {
+            value.append(ch, start, length);
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        switch (localName) {
+            case "v":
+                inValue = false;
+                cellHasValue = true;
+                break;
+            case "t":
+                if (inInlineText) {
+                    inInlineText = false;
+                    cellHasValue = true;
+                }
+                break;
+            case "c":
+                if (cellHasValue) {
+                    storeCell();
+                    rowHasCells = true;
+                }
+                break;
+            case "row":
+                if (rowHasCells) {
+                    consumer.accept(row);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void storeCell() {
+        if (cellType == null || "n".equals(cellType)) {
+            row.setNumber(column, Double.parseDouble(value.toString()), style);
+        } else if ("s".equals(cellType)) {
+            row.setSharedString(column, parseIndex(value), style);
+        } else if ("inlineStr".equals(cellType) || "str".equals(cellType)) {
+            row.setInlineString(column, value.toString(), style);
+        } else if ("b".equals(cellType)) {
+            row.setBoolean(column, value.length() > 0 && value.charAt(0) == '1', style);
+        } else {
+            row.setError(column, style);
+        }
+    }
+
+    private static int parseIndex(CharSequence digits) {
+        int result = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            char c = digits.charAt(i);
+            if (c >= '0' && c <= '9') {
+                result = result * 10 + (c - '0');
+            }
+        }
+        return result;
+    }
+
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+}
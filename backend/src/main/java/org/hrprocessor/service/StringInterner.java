@@ -0,0 +1,15 @@
+package org.hrprocessor.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** Per-run canonicalisation for text that does not come with a shared-string index. Not thread-safe. */
+final class StringInterner {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    String intern(String value) {
+        String existing = values.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+}
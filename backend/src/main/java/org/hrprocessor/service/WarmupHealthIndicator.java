@@ -0,0 +1,24 @@
+package org.hrprocessor.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/** Out of service until the start-up warm-up has run, so readiness only turns green once the first upload is fast. */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupService warmup;
+
+    public WarmupHealthIndicator(WarmupService warmup) {
+        this.warmup = warmup;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmup.isWarmedUp() ? Health.up() : Health.outOfService();
+        return builder.withDetail("warmedUp", warmup.isWarmedUp())
+                .withDetail("durationMs", warmup.getWarmupMs())
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package org.hrprocessor.service;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.model.EmployeeValidationSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Runs a tiny absences and employees workbook through the whole pipeline once the application has started, so POI,
+ * XMLBeans and the OOXML schemas are loaded and JIT-compiled before the first real upload instead of during it.
+ * The service reports ready only after the warm-up. With {@code hr.processor.warmup.exit=true} the application
+ * warms up and exits, which is how the Docker build records the class-data sharing archive.
+ */
+@Service
+@DependsOn("workbookReaderConfigurer")
+public class WarmupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+    private static final int ROUNDS = 3;
+
+    private final boolean enabled;
+    private final boolean exitAfterWarmup;
+    private volatile boolean warmedUp;
+    private volatile long warmupMs = -1;
+    private volatile int rowsRead;
+    private volatile int rowsMatched;
+
+    @Autowired
+    public WarmupService(@Value("${hr.processor.warmup.enabled:true}") boolean enabled,
+                         @Value("${hr.processor.warmup.exit:false}") boolean exitAfterWarmup) {
+        this.enabled = enabled;
+        this.exitAfterWarmup = exitAfterWarmup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (exitAfterWarmup) {
+            runWarmup();
+            logger.info("Warm-up finished, exiting as requested by hr.processor.warmup.exit");
+            System.exit(SpringApplication.exit(event.getApplicationContext(), () -> 0));
+        }
+        if (!enabled) {
+            warmedUp = true;
+            return;
+        }
+        Thread thread = new Thread(this::runWarmup, "hr-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    /** Duration of the warm-up, or -1 while it is running or when it is disabled. */
+    public long getWarmupMs() {
+        return warmupMs;
+    }
+
+    /** Absence rows the last warm-up round read from its workbook. */
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    /** Absence rows the last warm-up round matched to an employee; zero means the matcher and writers went unused. */
+    public int getRowsMatched() {
+        return rowsMatched;
+    }
+
+    private void runWarmup() {
+        try {
+            warmUp();
+        } catch (Exception e) {
+            // A failed warm-up only costs the first request its latency; it must not keep the service unready.
+            logger.warn("Warm-up failed, continuing cold", e);
+        } finally {
+            warmedUp = true;
+        }
+    }
+
+    public void warmUp() throws IOException {
+        long start = System.currentTimeMillis();
+        byte[] absences = absencesWorkbook();
+        Path employeesFile = Files.createTempFile("hr-warmup-employees", ".xlsx");
+        try {
+            Files.write(employeesFile, employeesWorkbook());
+
+            StreamingExcelReaderService reader = new StreamingExcelReaderService();
+            AbsenceProcessorService processor = new AbsenceProcessorService();
+            ExcelWriterService excelWriter = new ExcelWriterService();
+            CsvWriterService csvWriter = new CsvWriterService();
+            for (int round = 0; round < ROUNDS; round++) {
+                List<Employee> employees = reader.readEmployees(employeesFile.toString(), new EmployeeValidationSummary());
+                AbsenceBatch batch = reader.readAbsenceBatch(new ByteArrayInputStream(absences), "warm-up.xlsx");
+                AbsenceResultBatch results = processor.processAbsences(batch, new HeapEmployeeIndex(employees));
+                excelWriter.writeAbsenceResults(results, OutputStream.nullOutputStream());
+                csvWriter.writeAbsenceResults(results, WorkingDayCalendar.current(), OutputStream.nullOutputStream());
+                rowsRead = batch.size();
+                rowsMatched = results.size();
+            }
+        } finally {
+            Files.deleteIfExists(employeesFile);
+        }
+        warmupMs = System.currentTimeMillis() - start;
+        if (rowsMatched == 0) {
+            logger.warn("Warm-up matched none of its {} absences, so the matcher and writers stayed cold", rowsRead);
+        }
+        logger.info("Warm-up finished in {} ms ({} absences read, {} matched)", warmupMs, rowsRead, rowsMatched);
+    }
+
+    private static byte[] absencesWorkbook() throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd.mm.yyyy"));
+
+            // Field order of ColumnLayout, written at the historical positions under a detectable header
+            ColumnLayout layout = ColumnLayout.ABSENCES.legacy();
+            String[] names = {"First Name", "Last Name", "Time Type", "startDate", "endDate", "approvalStatus"};
+            int[] columns = new int[names.length];
+            Row header = sheet.createRow(layout.getFirstDataRow() - 1);
+            for (int field = 0; field < names.length; field++) {
+                columns[field] = layout.column(field);
+                header.createCell(columns[field]).setCellValue(names[field]);
+            }
+
+            String[][] rows = {{"Ana", "Pop", "Vacation", "APPROVED"}, {"Ion", "Radu", "Sick Leave", "PENDING"},
+                    {"Ana", "Pop", "Working Time", "APPROVED"}};
+            // Relative to today, so the rows always fall inside the window DateValues.validate accepts
+            LocalDate day = LocalDate.now().minusDays(7);
+            for (int r = 0; r < rows.length; r++) {
+                Row row = sheet.createRow(header.getRowNum() + 1 + r);
+                row.createCell(columns[0]).setCellValue(rows[r][0]);
+                row.createCell(columns[1]).setCellValue(rows[r][1]);
+                row.createCell(columns[2]).setCellValue(rows[r][2]);
+                row.createCell(columns[3]).setCellValue(day.plusDays(r));
+                row.getCell(columns[3]).setCellStyle(dateStyle);
+                row.createCell(columns[4]).setCellValue(DateValues.formatEpochDay(Math.toIntExact(day.plusDays(r + 2).toEpochDay())));
+                row.createCell(columns[5]).setCellValue(rows[r][3]);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] employeesWorkbook() throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            String[][] rows = {{"USER-ID", "last name", "first name", "Email"}, {"W1", "Pop", "Ana", "ana@example.com"},
+                    {"W2", "Radu", "Ion", "ion@example.com"}};
+            for (int r = 0; r < rows.length; r++) {
+                Row row = sheet.createRow(r);
+                for (int c = 0; c < rows[r].length; c++) {
+                    row.createCell(c).setCellValue(rows[r][c]);
+                }
+                if (r == 0) {
+                    row.createCell(rows[r].length).setCellValue("Weekly working hours");
+                } else {
+                    row.createCell(rows[r].length).setCellValue(40);
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
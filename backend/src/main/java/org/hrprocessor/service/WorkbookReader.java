@@ -0,0 +1,26 @@
+package org.hrprocessor.service;
+
+import org.hrprocessor.model.Absence;
+import org.hrprocessor.model.Employee;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface WorkbookReader {
+
+    List<Employee> readEmployees(String filePath) throws IOException;
+
+    List<Absence> readAbsences(String filePath) throws IOException;
+
+    default AbsenceBatch readAbsenceBatch(String filePath) throws IOException {
+        return AbsenceBatch.of(readAbsences(filePath));
+    }
+
+    /** Readers that only know the first sheet accept no other selection. */
+    default AbsenceBatch readAbsenceBatch(String filePath, List<String> sheetSelection) throws IOException {
+        if (sheetSelection != null && !sheetSelection.isEmpty()) {
+            throw new IllegalArgumentException("This reader only reads the first sheet");
+        }
+        return readAbsenceBatch(filePath);
+    }
+}
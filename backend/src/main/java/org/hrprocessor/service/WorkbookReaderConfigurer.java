@@ -0,0 +1,22 @@
+package org.hrprocessor.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Applies the configured header aliases, absence filter and holidays before any workbook is read. The readers are
+ * plain objects shared with the CLI, so these settings live with {@link ColumnLayout}, {@link AbsenceFilter} and
+ * {@link WorkingDayCalendar} rather than in the Spring context.
+ */
+@Service
+public class WorkbookReaderConfigurer {
+
+    public WorkbookReaderConfigurer(@Value("${hr.processor.columns.aliases:}") String aliases,
+                                    @Value("${hr.processor.absences.accepted-statuses:APPROVED,PENDING}") String acceptedStatuses,
+                                    @Value("${hr.processor.absences.excluded-time-types:Working Time,Break}") String excludedTimeTypes,
+                                    @Value("${hr.processor.holidays.file:}") String holidaysFile) {
+        ColumnLayout.configureAliases(aliases);
+        AbsenceFilter.configure(acceptedStatuses, excludedTimeTypes);
+        WorkingDayCalendar.configure(holidaysFile);
+    }
+}
@@ -0,0 +1,202 @@
+package org.hrprocessor.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Monday to Friday minus public holidays. Each year is built once into a bitmap of its working days and a prefix
+ * count, so counting the working days of a range is two array lookups per year it touches and listing them skips
+ * straight from one working day to the next. Holidays come from a text file with one ISO date per line; the
+ * bundled one has the Romanian public holidays.
+ */
+public final class WorkingDayCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkingDayCalendar.class);
+
+    public static final String BUNDLED_HOLIDAYS = "holidays-ro.txt";
+
+    private static volatile WorkingDayCalendar current;
+
+    private final Set<Integer> holidays;
+    private final int firstHolidayYear;
+    private final int lastHolidayYear;
+    private final Map<Integer, Year> years = new ConcurrentHashMap<>();
+
+    public WorkingDayCalendar(Collection<LocalDate> holidays) {
+        this.holidays = new HashSet<>();
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        for (LocalDate holiday : holidays) {
+            this.holidays.add(Math.toIntExact(holiday.toEpochDay()));
+            first = Math.min(first, holiday.getYear());
+            last = Math.max(last, holiday.getYear());
+        }
+        this.firstHolidayYear = first;
+        this.lastHolidayYear = last;
+    }
+
+    public static WorkingDayCalendar current() {
+        WorkingDayCalendar calendar = current;
+        if (calendar == null) {
+            calendar = bundled();
+            current = calendar;
+        }
+        return calendar;
+    }
+
+    /** Loads the holidays from a file, or the bundled Romanian ones when the path is empty. */
+    public static void configure(String holidaysFile) {
+        if (holidaysFile == null || holidaysFile.isBlank()) {
+            current = bundled();
+            return;
+        }
+        try (InputStream in = Files.newInputStream(Paths.get(holidaysFile))) {
+            current = load(in, holidaysFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read holidays file " + holidaysFile, e);
+        }
+    }
+
+    private static WorkingDayCalendar bundled() {
+        try (InputStream in = WorkingDayCalendar.class.getClassLoader().getResourceAsStream(BUNDLED_HOLIDAYS)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing bundled holidays " + BUNDLED_HOLIDAYS);
+            }
+            return load(in, BUNDLED_HOLIDAYS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read bundled holidays " + BUNDLED_HOLIDAYS, e);
+        }
+    }
+
+    /** Blank lines and lines starting with '#' are skipped; anything after the date is a comment. */
+    public static WorkingDayCalendar load(InputStream in, String name) throws IOException {
+        Set<LocalDate> holidays = new HashSet<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            int end = 0;
+            while (end < trimmed.length() && !Character.isWhitespace(trimmed.charAt(end))) {
+                end++;
+            }
+            try {
+                holidays.add(LocalDate.parse(trimmed.substring(0, end)));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid holiday '" + trimmed + "' in " + name + " line " + lineNumber
+                        + ", expected yyyy-MM-dd");
+            }
+        }
+        WorkingDayCalendar calendar = new WorkingDayCalendar(holidays);
+        logger.info("Loaded {} holidays from {} ({}-{})", holidays.size(), name,
+                calendar.firstHolidayYear, calendar.lastHolidayYear);
+        return calendar;
+    }
+
+    public int getHolidayCount() {
+        return holidays.size();
+    }
+
+    public boolean isWorkingDay(int epochDay) {
+        Year year = year(epochDay);
+        return year.workingDays.get(epochDay - year.firstDay);
+    }
+
+    /** Working days in [fromDay, toDay], both inclusive; 0 for an empty range. */
+    public int countWorkingDays(int fromDay, int toDay) {
+        int count = 0;
+        int day = fromDay;
+        while (day <= toDay) {
+            Year year = year(day);
+            int last = Math.min(toDay, year.lastDay);
+            count += year.before[last - year.firstDay + 1] - year.before[day - year.firstDay];
+            day = last + 1;
+        }
+        return count;
+    }
+
+    public void forEachWorkingDay(int fromDay, int toDay, IntConsumer consumer) {
+        int day = fromDay;
+        while (day <= toDay) {
+            Year year = year(day);
+            int last = Math.min(toDay, year.lastDay) - year.firstDay;
+            for (int i = year.workingDays.nextSetBit(day - year.firstDay); i >= 0 && i <= last; i = year.workingDays.nextSetBit(i + 1)) {
+                consumer.accept(year.firstDay + i);
+            }
+            day = year.firstDay + last + 1;
+        }
+    }
+
+    /** One row per working day of every absence, with the same start and end day; rows without dates are dropped. */
+    public AbsenceResultBatch expand(AbsenceResultBatch results) {
+        AbsenceResultBatch expanded = results.emptyCopy(results.size() * 4);
+        for (int i = 0; i < results.size(); i++) {
+            int from = results.getFromDay(i);
+            int until = results.getUntilDay(i);
+            if (from == AbsenceBatch.NO_DATE || until == AbsenceBatch.NO_DATE) {
+                continue;
+            }
+            int row = i;
+            forEachWorkingDay(from, until, day -> expanded.addFrom(results, row, day, day));
+        }
+        return expanded;
+    }
+
+    private Year year(int epochDay) {
+        int year = LocalDate.ofEpochDay(epochDay).getYear();
+        return years.computeIfAbsent(year, this::buildYear);
+    }
+
+    private Year buildYear(int year) {
+        if (year < firstHolidayYear || year > lastHolidayYear) {
+            logger.warn("No holidays configured for {}, only weekends are days off", year);
+        }
+        int firstDay = Math.toIntExact(LocalDate.of(year, 1, 1).toEpochDay());
+        int length = LocalDate.of(year, 1, 1).lengthOfYear();
+        BitSet workingDays = new BitSet(length);
+        int[] before = new int[length + 1];
+        for (int i = 0; i < length; i++) {
+            int day = firstDay + i;
+            boolean working = Math.floorMod(day + 3, 7) < 5 && !holidays.contains(day);
+            workingDays.set(i, working);
+            before[i + 1] = before[i] + (working ? 1 : 0);
+        }
+        return new Year(firstDay, firstDay + length - 1, workingDays, before);
+    }
+
+    private static final class Year {
+        private final int firstDay;
+        private final int lastDay;
+        private final BitSet workingDays;
+        private final int[] before;
+
+        Year(int firstDay, int lastDay, BitSet workingDays, int[] before) {
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+            this.workingDays = workingDays;
+            this.before = before;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.hrprocessor;
+
+import org.hrprocessor.model.Absence;
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.service.AbsenceBatch;
+import org.hrprocessor.service.AbsenceProcessorService;
+import org.hrprocessor.service.AbsenceResultBatch;
+import org.hrprocessor.service.CsvWriterService;
+import org.hrprocessor.service.EmployeeIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbsenceBatchTest {
+
+    private final AbsenceProcessorService processor = new AbsenceProcessorService();
+
+    @Test
+    void testListViewRoundTrip() {
+        List<Absence> absences = List.of(
+                new Absence("Ana", "Pop", LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 3)),
+                new Absence("Dan", "Pop", LocalDate.of(2025, 9, 2), null),
+                new Absence("Ana", "Pop", LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 1)));
+
+        AbsenceBatch batch = AbsenceBatch.of(absences);
+
+        assertEquals(3, batch.size());
+        assertSame(batch.getLastName(0), batch.getLastName(1));
+        for (int i = 0; i < absences.size(); i++) {
+            assertEquals(absences.get(i).toString(), batch.asList().get(i).toString());
+        }
+        assertThrows(UnsupportedOperationException.class, () -> batch.asList().add(absences.get(0)));
+    }
+
+    @Test
+    void testAddAllTranslatesDictionary() {
+        AbsenceBatch first = new AbsenceBatch();
+        first.add("Ana", "Pop", 20000, 20001);
+        AbsenceBatch second = new AbsenceBatch();
+        second.add("Ion", "Radu", 20002, 20003);
+        second.add("Ana", "Pop", 20004, 20005);
+
+        first.addAll(second);
+
+        assertEquals(3, first.size());
+        assertEquals("Ion", first.getFirstName(1));
+        assertEquals("Radu", first.getLastName(1));
+        assertSame(first.getFirstName(0), first.getFirstName(2));
+        assertEquals(20004, first.getStartDay(2));
+    }
+
+    @Test
+    void testBatchProcessingMatchesListProcessing() throws IOException {
+        List<Employee> employees = List.of(employee("u1", "Ana", "Pop"), employee("u2", "Ion", "Radu"));
+        List<Absence> absences = new ArrayList<>();
+        for (int day = 1; day <= 20; day++) {
+            String[] name = day % 3 == 0 ? new String[]{"Nobody", "Known"} : day % 2 == 0 ? new String[]{"ana", "POP"} : new String[]{"Ion", "Radu"};
+            absences.add(new Absence(name[0], name[1], LocalDate.of(2025, 9, day), LocalDate.of(2025, 9, day + 1)));
+        }
+        EmployeeIndex index = processor.createEmployeeIndex(employees);
+
+        List<AbsenceResult> expected = processor.processAbsences(absences, index);
+        AbsenceResultBatch batch = processor.processAbsences(AbsenceBatch.of(absences), index);
+
+        assertEquals(expected.size(), batch.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), batch.get(i).toString());
+        }
+        assertEquals(csv(AbsenceResultBatch.of(expected)), csv(batch));
+    }
+
+    @Test
+    void testWrittenDatesMatchLocalDateFormatting() throws IOException {
+        List<AbsenceResult> results = new ArrayList<>();
+        LocalDate day = LocalDate.of(1999, 12, 31);
+        for (int i = 0; i < 400; i++) {
+            results.add(new AbsenceResult("u" + i, "u" + i + "@example.com", day, day.plusDays(59)));
+            day = day.plusDays(97);
+        }
+        results.add(new AbsenceResult("leap", "leap@example.com", LocalDate.of(2024, 2, 29), LocalDate.of(2100, 3, 1)));
+
+        StringBuilder expected = new StringBuilder("USER-ID,email,absent from,absent until\n");
+        for (AbsenceResult result : results) {
+            expected.append(result.getUserId()).append(',').append(result.getEmail()).append(',')
+                    .append(result.getFormattedAbsentFrom()).append(',').append(result.getFormattedAbsentUntil()).append('\n');
+        }
+
+        assertEquals(expected.toString(), csv(AbsenceResultBatch.of(results)));
+    }
+
+    private static String csv(AbsenceResultBatch results) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CsvWriterService().writeAbsenceResults(results, out);
+        return out.toString();
+    }
+
+    private static Employee employee(String userId, String firstName, String lastName) {
+        Employee employee = new Employee();
+        employee.setUserId(userId);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmail(userId + "@example.com");
+        return employee;
+    }
+}
@@ -0,0 +1,84 @@
+package org.hrprocessor;
+
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.service.AbsenceCalendarService;
+import org.hrprocessor.service.AbsenceResultBatch;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbsenceCalendarServiceTest {
+
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void testNothingProcessedYet() {
+        assertNull(new AbsenceCalendarService().getCurrent());
+    }
+
+    @Test
+    void testQueriesMatchFullScan() {
+        Random random = new Random(42);
+        List<AbsenceResult> results = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            LocalDate from = BASE.plusDays(random.nextInt(365));
+            LocalDate until = from.plusDays(random.nextInt(random.nextInt(10) == 0 ? 60 : 5));
+            int user = random.nextInt(150);
+            results.add(new AbsenceResult("U" + user, "u" + user + "@example.com", from, until));
+        }
+        results.add(new AbsenceResult("U1", "u1@example.com", null, null));
+
+        AbsenceCalendarService service = new AbsenceCalendarService();
+        service.update(AbsenceResultBatch.of(results), "test.xlsx");
+        AbsenceCalendarService.Calendar calendar = service.getCurrent();
+
+        assertEquals("test.xlsx", calendar.getSource());
+        assertEquals(2000, calendar.size());
+        for (int q = 0; q < 300; q++) {
+            LocalDate from = BASE.plusDays(random.nextInt(400) - 20);
+            LocalDate to = from.plusDays(q % 3 == 0 ? 0 : random.nextInt(30));
+            String userId = q % 4 == 0 ? "U" + random.nextInt(160) : null;
+            assertEquals(scan(results, from, to, userId), describe(calendar.find(from, to, userId)),
+                    "from " + from + " to " + to + " user " + userId);
+        }
+    }
+
+    @Test
+    void testUpdateReplacesPreviousRun() {
+        AbsenceCalendarService service = new AbsenceCalendarService();
+        service.update(AbsenceResultBatch.of(List.of(new AbsenceResult("U1", "u1@example.com", BASE, BASE))), "first.xlsx");
+        service.update(AbsenceResultBatch.of(List.of(new AbsenceResult("U2", "u2@example.com", BASE, BASE.plusDays(2)))), "second.xlsx");
+
+        List<AbsenceResult> found = service.getCurrent().find(BASE.plusDays(1), BASE.plusDays(1), null);
+
+        assertEquals(1, found.size());
+        assertEquals("U2", found.get(0).getUserId());
+        assertEquals("second.xlsx", service.getCurrent().getSource());
+    }
+
+    private static List<String> scan(List<AbsenceResult> results, LocalDate from, LocalDate to, String userId) {
+        List<AbsenceResult> found = new ArrayList<>();
+        for (AbsenceResult result : results) {
+            if (result.getAbsentFrom() != null && result.getAbsentUntil() != null
+                    && !result.getAbsentFrom().isAfter(to) && !result.getAbsentUntil().isBefore(from)
+                    && (userId == null || userId.equals(result.getUserId()))) {
+                found.add(result);
+            }
+        }
+        return describe(found);
+    }
+
+    private static List<String> describe(List<AbsenceResult> results) {
+        List<String> described = new ArrayList<>();
+        for (AbsenceResult result : results) {
+            described.add(result.getUserId() + " " + result.getAbsentFrom() + " " + result.getAbsentUntil());
+        }
+        described.sort(null);
+        return described;
+    }
+}
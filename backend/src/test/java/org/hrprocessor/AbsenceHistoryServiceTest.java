@@ -0,0 +1,156 @@
+package org.hrprocessor;
+
+import org.hrprocessor.model.AbsenceHistoryRecord;
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.service.AbsenceHistoryService;
+import org.hrprocessor.service.AbsenceResultBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbsenceHistoryServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static AbsenceResultBatch run(AbsenceResult... results) {
+        return AbsenceResultBatch.of(List.of(results));
+    }
+
+    private static AbsenceResult absence(String userId, LocalDate from, LocalDate until) {
+        return new AbsenceResult(userId, userId.toLowerCase() + "@example.com", from, until);
+    }
+
+    @Test
+    void testAppendQueryAndReopen() throws IOException {
+        AbsenceHistoryService history = new AbsenceHistoryService(true, tempDir, 16);
+        history.open();
+        history.append(run(absence("U1", LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 5)),
+                absence("U2", LocalDate.of(2023, 3, 4), LocalDate.of(2023, 3, 4)),
+                new AbsenceResult("U3", "u3@example.com", null, null)));
+        history.append(run(absence("U1", LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 10))));
+
+        List<AbsenceHistoryRecord> march = history.find(LocalDate.of(2023, 3, 3), LocalDate.of(2023, 3, 4), null);
+        assertEquals(2, march.size());
+        assertEquals("U1", march.get(0).getUserId());
+        assertEquals(LocalDate.now(), march.get(0).getRecordedOn());
+        assertEquals("ACCEPTED", march.get(0).getStatus());
+
+        AbsenceHistoryService reopened = new AbsenceHistoryService(true, tempDir, 16);
+        reopened.open();
+        assertEquals(2, reopened.getSegmentCount());
+        List<AbsenceHistoryRecord> user1 = reopened.find(LocalDate.of(2020, 1, 1), LocalDate.of(2026, 1, 1), "U1");
+        assertEquals(2, user1.size());
+        assertEquals(LocalDate.of(2025, 7, 10), user1.get(1).getAbsentUntil());
+        assertTrue(reopened.find(LocalDate.of(2020, 1, 1), LocalDate.of(2026, 1, 1), "nobody").isEmpty());
+        assertTrue(reopened.find(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), null).isEmpty());
+    }
+
+    @Test
+    void testUserIdsWithLineBreaksKeepTheirOrdinalsOnReopen() throws IOException {
+        String[] ids = {"A\r\nB", "C\u2028D", "E\\u0041", "F\tG", "plain"};
+        AbsenceHistoryService history = new AbsenceHistoryService(true, tempDir, 16);
+        history.open();
+        for (int i = 0; i < ids.length; i++) {
+            LocalDate day = LocalDate.of(2024, 1, 1 + i);
+            history.append(run(new AbsenceResult(ids[i], "u@example.com", day, day)));
+        }
+
+        AbsenceHistoryService reopened = new AbsenceHistoryService(true, tempDir, 16);
+        reopened.open();
+        List<AbsenceHistoryRecord> all = reopened.find(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), null);
+        assertEquals(ids.length, all.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], all.get(i).getUserId());
+            assertEquals(1, reopened.find(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), ids[i]).size());
+        }
+        assertEquals(ids.length, Files.readAllLines(tempDir.resolve("users.tsv")).size());
+    }
+
+    @Test
+    void testLegacyUsersFileIsConverted() throws IOException {
+        AbsenceHistoryService history = new AbsenceHistoryService(true, tempDir, 16);
+        history.open();
+        history.append(run(absence("U1", LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 5)),
+                absence("U2", LocalDate.of(2023, 3, 4), LocalDate.of(2023, 3, 4))));
+        Files.delete(tempDir.resolve("users.tsv"));
+        Files.write(tempDir.resolve("users.txt"), List.of("U1", "U2"));
+
+        AbsenceHistoryService reopened = new AbsenceHistoryService(true, tempDir, 16);
+        reopened.open();
+        assertFalse(Files.exists(tempDir.resolve("users.txt")));
+        List<AbsenceHistoryRecord> user2 = reopened.find(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31), "U2");
+        assertEquals(1, user2.size());
+        assertEquals(LocalDate.of(2023, 3, 4), user2.get(0).getAbsentFrom());
+    }
+
+    @Test
+    void testCompactionDeduplicatesIntoYearSegments() throws IOException, InterruptedException {
+        AbsenceHistoryService history = new AbsenceHistoryService(true, tempDir, 3);
+        history.open();
+        AbsenceResultBatch export = run(absence("U1", LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 3)),
+                absence("U2", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 2)));
+        history.record(export);
+        history.record(export);
+        history.flush();
+        assertEquals(4, history.find(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 12, 31), null).size());
+
+        // the third run segment reaches the threshold, so the writer compacts after appending it
+        history.record(run(absence("U3", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 1))));
+        history.flush();
+
+        // one segment for 2024 and one for 2025
+        assertEquals(2, history.getSegmentCount());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(2, files.filter(file -> file.getFileName().toString().startsWith("segment-")).count());
+        }
+        List<AbsenceHistoryRecord> all = history.find(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 12, 31), null);
+        assertEquals(3, all.size());
+        assertEquals(LocalDate.of(2024, 12, 30), all.get(0).getAbsentFrom());
+
+        history.append(export);
+        history.shutdown();
+        AbsenceHistoryService reopened = new AbsenceHistoryService(true, tempDir, 3);
+        reopened.open();
+        assertEquals(3, reopened.getSegmentCount());
+        assertEquals(5, reopened.find(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 12, 31), null).size());
+        reopened.compact();
+        assertEquals(3, reopened.find(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 12, 31), null).size());
+    }
+
+    @Test
+    void testRecordDoesNotWaitForTheWriter() throws IOException, InterruptedException {
+        AbsenceHistoryService history = new AbsenceHistoryService(true, tempDir, 16);
+        history.open();
+        AbsenceResult absence = absence("U1", LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 6));
+
+        // the history lock is held as a running append or compaction would hold it
+        synchronized (history) {
+            history.record(run(absence));
+            assertEquals(0, history.getSegmentCount());
+        }
+        history.flush();
+        assertEquals(1, history.getSegmentCount());
+        assertEquals(1, history.find(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), "U1").size());
+        history.shutdown();
+    }
+
+    @Test
+    void testDisabledWritesNothing() throws IOException {
+        Path directory = tempDir.resolve("history");
+        AbsenceHistoryService history = new AbsenceHistoryService(false, directory, 16);
+        history.open();
+        history.record(run(absence("U1", LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 6))));
+
+        assertFalse(Files.exists(directory));
+        assertTrue(history.find(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), null).isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package org.hrprocessor;
+
+import org.hrprocessor.service.AdmissionControlService;
+import org.hrprocessor.service.AdmissionRejectedException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlServiceTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void testCostEstimateIsClampedToBudget() {
+        AdmissionControlService admission = new AdmissionControlService(100, 4, 64, 1024, 10, 30);
+
+        assertEquals(1, admission.estimateCostMb(10));
+        assertEquals(16, admission.estimateCostMb(MB));
+        assertEquals(100, admission.estimateCostMb(1024 * MB));
+    }
+
+    @Test
+    void testBufferedUploadsCostMorePerRow() {
+        AdmissionControlService admission = new AdmissionControlService(1000, 4, 64, 128, 2048, 10, 30);
+
+        // 4 MB of upload is 65,536 rows
+        assertEquals(8, admission.estimateCostMb(4 * MB));
+        assertEquals(8, admission.estimateCostMb(4 * MB, false));
+        assertEquals(128, admission.estimateCostMb(4 * MB, true));
+    }
+
+    @Test
+    void testRejectsWhenMemoryBudgetIsExhausted() throws InterruptedException {
+        AdmissionControlService admission = new AdmissionControlService(100, 4, 64, 1024, 10, 30);
+
+        try (AdmissionControlService.Permit first = admission.acquire(4 * MB)) {
+            assertEquals(64, first.getCostMb());
+            assertEquals(36, admission.getAvailableMb());
+
+            AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class, () -> admission.acquire(4 * MB));
+            assertEquals(30, rejected.getRetryAfterSeconds());
+            assertEquals(1, admission.getActiveJobs(), "Rejected job must give its slot back");
+        }
+
+        assertEquals(100, admission.getAvailableMb());
+        assertEquals(0, admission.getActiveJobs());
+    }
+
+    @Test
+    void testRejectsWhenAllSlotsAreBusy() throws InterruptedException {
+        AdmissionControlService admission = new AdmissionControlService(100, 1, 64, 1024, 10, 5);
+
+        try (AdmissionControlService.Permit held = admission.acquire(MB)) {
+            assertNotNull(held);
+            assertThrows(AdmissionRejectedException.class, () -> admission.acquire(MB));
+        }
+
+        try (AdmissionControlService.Permit permit = admission.acquire(MB)) {
+            assertNotNull(permit);
+        }
+    }
+
+    @Test
+    void testQueuedJobIsAdmittedOnceMemoryIsReleased() throws Exception {
+        AdmissionControlService admission = new AdmissionControlService(100, 4, 64, 1024, 2000, 30);
+        AdmissionControlService.Permit first = admission.acquire(4 * MB);
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            first.close();
+        });
+        releaser.start();
+
+        try (AdmissionControlService.Permit second = admission.acquire(4 * MB)) {
+            assertEquals(64, second.getCostMb());
+        }
+        releaser.join();
+    }
+}
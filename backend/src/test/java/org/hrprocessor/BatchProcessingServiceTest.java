@@ -0,0 +1,172 @@
+package org.hrprocessor;
+
+import org.hrprocessor.model.Absence;
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.model.BatchFileSummary;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.service.AbsenceProcessorService;
+import org.hrprocessor.service.BatchProcessingService;
+import org.hrprocessor.service.EmployeeIndex;
+import org.hrprocessor.service.ExcelReaderService;
+import org.hrprocessor.service.ExcelWriterService;
+import org.hrprocessor.service.WorkbookReader;
+import org.hrprocessor.testdata.WorkbookGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchProcessingServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ExecutorService executor;
+    private ExcelReaderService excelReader;
+    private AbsenceProcessorService processor;
+    private BatchProcessingService batchProcessing;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+        excelReader = new ExcelReaderService();
+        processor = new AbsenceProcessorService();
+        batchProcessing = new BatchProcessingService(excelReader, processor, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testBatchMergesFilesInInputOrder() throws Exception {
+        Path employeesFile = tempDir.resolve("employees.xlsx");
+        Path north = tempDir.resolve("north.xlsx");
+        Path south = tempDir.resolve("south.xlsx");
+        new WorkbookGenerator(1).writeEmployees(employeesFile, 200);
+        new WorkbookGenerator(2).unknownEmployeeRatio(0.1).writeAbsences(north, 300, 200);
+        new WorkbookGenerator(3).writeAbsences(south, 100, 200);
+
+        EmployeeIndex index = processor.createEmployeeIndex(excelReader.readEmployees(employeesFile.toString()));
+        BatchProcessingService.BatchResult batch = batchProcessing.process(List.of(
+                new BatchProcessingService.BatchInput("north.xlsx", north),
+                new BatchProcessingService.BatchInput("south.xlsx", south)), index);
+
+        List<AbsenceResult> northResults = processor.processAbsences(excelReader.readAbsences(north.toString()), index);
+        List<AbsenceResult> southResults = processor.processAbsences(excelReader.readAbsences(south.toString()), index);
+
+        assertEquals(northResults.size() + southResults.size(), batch.getResults().size());
+        assertEquals(northResults.get(0).toString(), batch.getResults().get(0).toString());
+        assertEquals(southResults.get(0).toString(), batch.getResults().get(northResults.size()).toString());
+
+        BatchFileSummary northSummary = batch.getSummaries().get(0);
+        assertEquals("north.xlsx", northSummary.getFileName());
+        assertEquals(northResults.size(), northSummary.getMatched());
+        assertTrue(northSummary.getUnmatched() > 0, "Unknown employees should be reported as unmatched");
+        assertFalse(northSummary.isFailed());
+    }
+
+    @Test
+    void testBrokenFileDoesNotFailBatch() throws Exception {
+        Path employeesFile = tempDir.resolve("employees.xlsx");
+        Path good = tempDir.resolve("good.xlsx");
+        Path broken = tempDir.resolve("broken.xlsx");
+        new WorkbookGenerator(1).writeEmployees(employeesFile, 50);
+        new WorkbookGenerator(2).writeAbsences(good, 80, 50);
+        Files.write(broken, "not a workbook".getBytes());
+
+        EmployeeIndex index = processor.createEmployeeIndex(excelReader.readEmployees(employeesFile.toString()));
+        BatchProcessingService.BatchResult batch = batchProcessing.process(List.of(
+                new BatchProcessingService.BatchInput("broken.xlsx", broken),
+                new BatchProcessingService.BatchInput("good.xlsx", good)), index);
+
+        assertTrue(batch.getSummaries().get(0).isFailed());
+        assertFalse(batch.getSummaries().get(1).isFailed());
+        assertEquals(batch.getSummaries().get(1).getMatched(), batch.getResults().size());
+        assertTrue(batch.getResults().size() > 0);
+    }
+
+    @Test
+    void testRejectedSubmitCancelsSubmittedFiles() throws Exception {
+        ThreadPoolExecutor saturated = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(2));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        WorkbookReader countingReader = new WorkbookReader() {
+            @Override
+            public List<Employee> readEmployees(String filePath) {
+                return List.of();
+            }
+
+            @Override
+            public List<Absence> readAbsences(String filePath) {
+                reads.incrementAndGet();
+                return List.of();
+            }
+        };
+        BatchProcessingService service = new BatchProcessingService(countingReader, processor, saturated);
+        try {
+            // Another job holds the only thread, so two files fit in the queue and the third is rejected
+            saturated.submit(() -> {
+                release.await();
+                return null;
+            });
+            List<BatchProcessingService.BatchInput> inputs = List.of(
+                    new BatchProcessingService.BatchInput("first.xlsx", tempDir.resolve("first.xlsx")),
+                    new BatchProcessingService.BatchInput("second.xlsx", tempDir.resolve("second.xlsx")),
+                    new BatchProcessingService.BatchInput("third.xlsx", tempDir.resolve("third.xlsx")));
+            EmployeeIndex index = processor.createEmployeeIndex(List.of());
+
+            assertThrows(RejectedExecutionException.class, () -> service.process(inputs, index));
+
+            release.countDown();
+            saturated.shutdown();
+            assertTrue(saturated.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(0, reads.get(), "Files submitted before the rejection should be cancelled");
+        } finally {
+            saturated.shutdownNow();
+        }
+    }
+
+    @Test
+    void testWorkbookCanBeWrittenIntoZipEntry() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("result.xlsx"));
+            new ExcelWriterService().writeAbsenceResults(List.of(), zip);
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("summary.csv"));
+            zip.write("file\n".getBytes());
+            zip.closeEntry();
+        }
+
+        int entries = 0;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            while (zip.getNextEntry() != null) {
+                entries++;
+            }
+        }
+        assertEquals(2, entries, "Writing the workbook must not close the surrounding zip stream");
+    }
+}
@@ -0,0 +1,117 @@
+package org.hrprocessor;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.hrprocessor.model.CapacityPeriod;
+import org.hrprocessor.model.CapacityReport;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.service.AbsenceResultBatch;
+import org.hrprocessor.service.CapacityCalculator;
+import org.hrprocessor.service.ExcelWriterService;
+import org.hrprocessor.service.HeapEmployeeIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapacityCalculatorTest {
+
+    // Monday
+    private static final LocalDate MONDAY = LocalDate.of(2025, 9, 1);
+
+    private final CapacityCalculator calculator = new CapacityCalculator();
+
+    private AbsenceResultBatch results() {
+        HeapEmployeeIndex index = new HeapEmployeeIndex(List.of(
+                new Employee("U1", "Pop", "Ana", "ana@example.com", 40),
+                new Employee("U2", "Radu", "Ion", "ion@example.com", 20),
+                new Employee("U3", "Dinu", "Dan", "dan@example.com", 0)));
+        AbsenceResultBatch batch = new AbsenceResultBatch(index, 4);
+        // Ana Monday to Wednesday, overlapping a second entry on Tuesday
+        batch.add(0, day(MONDAY), day(MONDAY.plusDays(2)));
+        batch.add(0, day(MONDAY.plusDays(1)), day(MONDAY.plusDays(1)));
+        // Ion Friday over the weekend to next Monday
+        batch.add(1, day(MONDAY.plusDays(4)), day(MONDAY.plusDays(7)));
+        return batch;
+    }
+
+    @Test
+    void testDailyCapacity() {
+        CapacityReport report = calculator.calculate(results(), MONDAY, MONDAY.plusDays(7), CapacityCalculator.DAY);
+
+        assertEquals(3, report.getEmployees());
+        assertEquals(8, report.getPeriods().size());
+
+        // 8 + 4 + 8 (no weekly hours, assumed full time) hours planned per working day
+        CapacityPeriod tuesday = report.getPeriods().get(1);
+        assertEquals(1, tuesday.getWorkingDays());
+        assertEquals(1, tuesday.getAbsentEmployees());
+        assertEquals(20.0, tuesday.getPlannedHours());
+        assertEquals(8.0, tuesday.getAbsentHours());
+        assertEquals(12.0, tuesday.getAvailableHours());
+        assertEquals(1.5, tuesday.getAvailableFte());
+
+        CapacityPeriod friday = report.getPeriods().get(4);
+        assertEquals(4.0, friday.getAbsentHours());
+
+        CapacityPeriod saturday = report.getPeriods().get(5);
+        assertEquals(0, saturday.getWorkingDays());
+        assertEquals(0, saturday.getAbsentEmployees());
+        assertEquals(0.0, saturday.getPlannedHours());
+    }
+
+    @Test
+    void testWeeklyCapacity() {
+        CapacityReport report = calculator.calculate(results(), MONDAY.plusDays(2), MONDAY.plusDays(8), CapacityCalculator.WEEK);
+
+        assertEquals(2, report.getPeriods().size());
+        CapacityPeriod first = report.getPeriods().get(0);
+        assertEquals(MONDAY.plusDays(2), first.getStart());
+        assertEquals(MONDAY.plusDays(6), first.getEnd());
+        assertEquals(3, first.getWorkingDays());
+        assertEquals(2, first.getAbsentEmployees());
+        assertEquals(60.0, first.getPlannedHours());
+        assertEquals(12.0, first.getAbsentHours());
+
+        CapacityPeriod second = report.getPeriods().get(1);
+        assertEquals(MONDAY.plusDays(7), second.getStart());
+        assertEquals(2, second.getWorkingDays());
+        assertEquals(1, second.getAbsentEmployees());
+        assertEquals(4.0, second.getAbsentHours());
+    }
+
+    @Test
+    void testDefaultRangeAndValidation() {
+        CapacityReport report = calculator.calculate(results(), CapacityCalculator.DAY);
+        assertEquals(MONDAY, report.getFrom());
+        assertEquals(MONDAY.plusDays(7), report.getTo());
+
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(results(), MONDAY, MONDAY, "month"));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(results(), MONDAY, MONDAY.minusDays(1), null));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(AbsenceResultBatch.of(List.of()), MONDAY, MONDAY, null));
+    }
+
+    @Test
+    void testCapacitySheetIsWritten() throws IOException {
+        AbsenceResultBatch results = results();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ExcelWriterService().writeAbsenceResults(results, calculator.calculate(results, CapacityCalculator.DAY), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(2, workbook.getNumberOfSheets());
+            Sheet capacity = workbook.getSheet("Capacity");
+            assertEquals(8, capacity.getLastRowNum());
+            assertEquals("02.09.2025", capacity.getRow(2).getCell(0).getStringCellValue());
+            assertEquals(12.0, capacity.getRow(2).getCell(6).getNumericCellValue());
+        }
+    }
+
+    private static int day(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+}
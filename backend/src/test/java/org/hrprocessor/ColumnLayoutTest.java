@@ -0,0 +1,137 @@
+package org.hrprocessor;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.hrprocessor.model.Absence;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.service.ColumnLayout;
+import org.hrprocessor.service.ExcelReaderService;
+import org.hrprocessor.service.StreamingExcelReaderService;
+import org.hrprocessor.testdata.WorkbookGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnLayoutTest {
+
+    private ExcelReaderService domReader;
+    private StreamingExcelReaderService streamingReader;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        domReader = new ExcelReaderService();
+        streamingReader = new StreamingExcelReaderService();
+    }
+
+    @Test
+    void testInsertedAbsenceColumnIsFollowed() throws IOException {
+        Path original = tempDir.resolve("absences.xlsx");
+        Path shifted = tempDir.resolve("absences-shifted.xlsx");
+        new WorkbookGenerator(11).nonApprovedRatio(0.2).excludedTimeTypeRatio(0.2).writeAbsences(original, 300, 50);
+
+        try (InputStream in = Files.newInputStream(original); XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            sheet.shiftColumns(4, 16, 1);
+            sheet.getRow(2).createCell(4).setCellValue("Preferred Name");
+            for (int i = 3; i <= sheet.getLastRowNum(); i++) {
+                sheet.getRow(i).createCell(4).setCellValue("Nickname " + i);
+            }
+            write(workbook, shifted);
+        }
+
+        List<Absence> expected = streamingReader.readAbsences(original.toString());
+        assertFalse(expected.isEmpty());
+        assertSameAbsences(expected, streamingReader.readAbsences(shifted.toString()));
+        assertSameAbsences(expected, domReader.readAbsences(shifted.toString()));
+    }
+
+    @Test
+    void testReorderedEmployeeColumnsWithoutHeaderPreamble() throws IOException {
+        Path file = tempDir.resolve("employees.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Employees");
+            writeRow(sheet, 0, "E-Mail", "First Name", "User ID", "Last Name");
+            writeRow(sheet, 1, "ana.pop@example.com", "Ana", "pop001", "Pop");
+            writeRow(sheet, 2, "dan.radu@example.com", "Dan", "rad002", "Radu");
+            write(workbook, file);
+        }
+
+        for (List<Employee> employees : List.of(domReader.readEmployees(file.toString()), streamingReader.readEmployees(file.toString()))) {
+            assertEquals(2, employees.size());
+            assertEquals("pop001", employees.get(0).getUserId());
+            assertEquals("Ana", employees.get(0).getFirstName());
+            assertEquals("Pop", employees.get(0).getLastName());
+            assertEquals("ana.pop@example.com", employees.get(0).getEmail());
+            assertEquals(0, employees.get(0).getWeeklyWorkingHours());
+            assertEquals("rad002", employees.get(1).getUserId());
+        }
+    }
+
+    @Test
+    void testConfiguredAliasIsRecognised() throws IOException {
+        ColumnLayout.configureAliases("absences.approvalStatus=Workflow State (Label)");
+        Path file = tempDir.resolve("absences.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            writeRow(sheet, 0, "Workflow State (Label)", "Last Name", "First Name", "Time Type", "Start Date", "End Date");
+            writeRow(sheet, 1, "APPROVED", "Pop", "Ana", "Annual Leave", "01.09.2025", "03.09.2025");
+            writeRow(sheet, 2, "REJECTED", "Radu", "Dan", "Annual Leave", "01.09.2025", "03.09.2025");
+            write(workbook, file);
+        }
+
+        for (List<Absence> absences : List.of(domReader.readAbsences(file.toString()), streamingReader.readAbsences(file.toString()))) {
+            assertEquals(1, absences.size());
+            assertEquals("Ana", absences.get(0).getFirstName());
+            assertEquals("Pop", absences.get(0).getLastName());
+        }
+    }
+
+    @Test
+    void testHeaderWithMissingColumnIsRejected() throws IOException {
+        Path file = tempDir.resolve("absences.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            writeRow(sheet, 2, "First Name", "Last Name", "Time Type (Label)", "startDate", "endDate", "Decision");
+            writeRow(sheet, 3, "Ana", "Pop", "Annual Leave", "01.09.2025", "03.09.2025", "APPROVED");
+            write(workbook, file);
+        }
+
+        IllegalArgumentException dom = assertThrows(IllegalArgumentException.class, () -> domReader.readAbsences(file.toString()));
+        assertTrue(dom.getMessage().contains("approvalStatus"));
+        assertThrows(IllegalArgumentException.class, () -> streamingReader.readAbsences(file.toString()));
+    }
+
+    private static void writeRow(Sheet sheet, int index, String... values) {
+        Row row = sheet.createRow(index);
+        for (int c = 0; c < values.length; c++) {
+            row.createCell(c).setCellValue(values[c]);
+        }
+    }
+
+    private static void write(XSSFWorkbook workbook, Path file) throws IOException {
+        try (OutputStream out = new FileOutputStream(file.toFile())) {
+            workbook.write(out);
+        }
+    }
+
+    private void assertSameAbsences(List<Absence> expected, List<Absence> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+}
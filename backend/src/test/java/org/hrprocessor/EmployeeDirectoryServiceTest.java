@@ -0,0 +1,211 @@
+package org.hrprocessor;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.hrprocessor.model.EmployeeFileVersion;
+import org.hrprocessor.model.EmployeeValidationSummary;
+import org.hrprocessor.service.EmployeeDirectoryService;
+import org.hrprocessor.service.FileStorageService;
+import org.hrprocessor.service.InvalidEmployeesFileException;
+import org.hrprocessor.service.MappedEmployeeIndex;
+import org.hrprocessor.testdata.WorkbookGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeDirectoryServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileStorageService fileStorage;
+    private EmployeeDirectoryService directory;
+
+    @BeforeEach
+    void setUp() {
+        fileStorage = new FileStorageService(tempDir.resolve("input"));
+        directory = new EmployeeDirectoryService(fileStorage, 3, 0.5, 16);
+    }
+
+    @Test
+    void testUpdateStoresVersionAndPublishesSnapshot() throws IOException {
+        Path upload = employees(1, 50);
+        String sha256 = FileStorageService.sha256(upload);
+
+        EmployeeDirectoryService.Snapshot snapshot = directory.update(upload, "employees.xlsx");
+
+        assertSame(snapshot, directory.getCurrent());
+        assertEquals(50, snapshot.getIndex().size());
+        assertEquals(sha256, snapshot.getVersion().getSha256());
+        assertEquals(sha256, FileStorageService.sha256(fileStorage.getPersistentEmployeesFile()));
+
+        List<EmployeeFileVersion> versions = directory.listVersions();
+        assertEquals(1, versions.size());
+        assertTrue(versions.get(0).isActive());
+    }
+
+    @Test
+    void testInvalidFileIsRejectedAndCurrentVersionKept() throws IOException {
+        EmployeeDirectoryService.Snapshot before = directory.update(employees(1, 50), "employees.xlsx");
+        Path corrupt = tempDir.resolve("corrupt.xlsx");
+        Files.write(corrupt, "This is not an Excel file".getBytes());
+
+        InvalidEmployeesFileException e = assertThrows(InvalidEmployeesFileException.class, () -> directory.update(corrupt, "corrupt.xlsx"));
+
+        assertFalse(e.getSummary().isValid());
+
+        assertSame(before, directory.getCurrent());
+        assertEquals(1, directory.listVersions().size());
+        assertEquals(before.getVersion().getSha256(), FileStorageService.sha256(fileStorage.getPersistentEmployeesFile()));
+    }
+
+    @Test
+    void testSummaryReportsRejectsAndDuplicateNameKeys() throws IOException {
+        Path upload = tempDir.resolve("duplicates.xlsx");
+        WorkbookGenerator.GenerationSummary generated = new WorkbookGenerator(7).duplicateRatio(0.1).writeEmployees(upload, 200);
+        Path withRejects = tempDir.resolve("with-rejects.xlsx");
+        appendRows(upload, withRejects, new String[]{"", "Nobody", "Jane", "jane@example.com"}, new String[]{"x1", "Nomail", "John", ""});
+
+        EmployeeDirectoryService.Snapshot snapshot = directory.update(withRejects, "with-rejects.xlsx");
+        EmployeeValidationSummary summary = snapshot.getValidation();
+
+        assertTrue(summary.isValid());
+        assertEquals(202, summary.getRows());
+        assertEquals(200, summary.getEmployees());
+        assertEquals(2, summary.getRejected());
+        assertEquals(List.of(202, 203), summary.getSampleRejectedRows());
+        assertTrue(summary.getDuplicateNameKeys() > 0);
+        assertEquals(generated.duplicates, summary.getEmployees() - snapshot.getIndex().distinctNameKeys());
+        assertEquals(snapshot.getVersion().getId(), summary.getVersion());
+    }
+
+    @Test
+    void testLargeMastersUseMappedIndex() throws IOException {
+        FileStorageService mappedStorage = new FileStorageService(tempDir.resolve("mapped"));
+        EmployeeDirectoryService mappedDirectory = new EmployeeDirectoryService(mappedStorage, 3, 0.5, 0);
+        Path heapUpload = tempDir.resolve("heap.xlsx");
+        Path mappedUpload = tempDir.resolve("mapped.xlsx");
+        new WorkbookGenerator(7).duplicateRatio(0.1).writeEmployees(heapUpload, 200);
+        new WorkbookGenerator(7).duplicateRatio(0.1).writeEmployees(mappedUpload, 200);
+        EmployeeValidationSummary heapSummary = directory.update(heapUpload, "heap.xlsx").getValidation();
+
+        EmployeeDirectoryService.Snapshot first = mappedDirectory.update(employees(1, 50), "employees.xlsx");
+        EmployeeDirectoryService.Snapshot snapshot = mappedDirectory.update(mappedUpload, "mapped.xlsx");
+
+        assertInstanceOf(MappedEmployeeIndex.class, snapshot.getIndex());
+        assertTrue(Files.exists(mappedStorage.getIndexPath(snapshot.getVersion().getId())));
+        assertEquals(200, snapshot.getIndex().size());
+        assertEquals(heapSummary.getDuplicateNameKeys(), snapshot.getValidation().getDuplicateNameKeys());
+        assertEquals(heapSummary.getSampleDuplicateNameKeys(), snapshot.getValidation().getSampleDuplicateNameKeys());
+        assertSame(first, mappedDirectory.rollback(first.getVersion().getId()).orElseThrow());
+    }
+
+    @Test
+    void testFileWithoutUsableRowsIsRefused() throws IOException {
+        Path header = tempDir.resolve("header.xlsx");
+        new WorkbookGenerator(1).writeEmployees(header, 0);
+        Path mostlyRejected = tempDir.resolve("mostly-rejected.xlsx");
+        appendRows(header, mostlyRejected, new String[]{"u1", "A", "B", "a@example.com"}, new String[]{"u2", "C", "D", ""}, new String[]{"", "E", "F", "e@example.com"});
+
+        InvalidEmployeesFileException empty = assertThrows(InvalidEmployeesFileException.class, () -> directory.update(header, "header.xlsx"));
+        InvalidEmployeesFileException rejected = assertThrows(InvalidEmployeesFileException.class, () -> directory.update(mostlyRejected, "mostly-rejected.xlsx"));
+
+        assertEquals(0, empty.getSummary().getEmployees());
+        assertEquals(3, rejected.getSummary().getRows());
+        assertEquals(2, rejected.getSummary().getRejected());
+        assertNull(directory.getCurrent());
+        assertTrue(directory.listVersions().isEmpty());
+    }
+
+    @Test
+    void testRollbackReusesCachedSnapshot() throws IOException {
+        EmployeeDirectoryService.Snapshot first = directory.update(employees(1, 50), "employees.xlsx");
+        directory.update(employees(2, 80), "employees.xlsx");
+        assertEquals(80, directory.getCurrent().getIndex().size());
+
+        EmployeeDirectoryService.Snapshot rolledBack = directory.rollback(first.getVersion().getId()).orElseThrow();
+
+        assertSame(first, rolledBack);
+        assertSame(first, directory.getCurrent());
+        assertEquals(first.getVersion().getSha256(), FileStorageService.sha256(fileStorage.getPersistentEmployeesFile()));
+        assertTrue(directory.rollback("unknown").isEmpty());
+    }
+
+    @Test
+    void testKeepsOnlyConfiguredNumberOfVersions() throws IOException {
+        for (int seed = 1; seed <= 5; seed++) {
+            directory.update(employees(seed, 10 + seed), "employees.xlsx");
+        }
+
+        List<EmployeeFileVersion> versions = directory.listVersions();
+        assertEquals(3, versions.size());
+        assertEquals(directory.getCurrent().getVersion().getId(), versions.get(0).getId());
+    }
+
+    @Test
+    void testExistingMasterIsAdoptedAtStartup() throws IOException {
+        Files.createDirectories(fileStorage.getDataDirectory());
+        new WorkbookGenerator(4).writeEmployees(fileStorage.getPersistentEmployeesFile(), 30);
+
+        directory.initialize();
+
+        assertEquals(30, directory.getCurrent().getIndex().size());
+        assertEquals(1, directory.listVersions().size());
+
+        EmployeeDirectoryService restarted = new EmployeeDirectoryService(fileStorage, 3, 0.5, 16);
+        restarted.initialize();
+        assertEquals(directory.getCurrent().getVersion().getId(), restarted.getCurrent().getVersion().getId());
+        assertEquals(1, restarted.listVersions().size());
+    }
+
+    @Test
+    void testVersionsAreListedFromStoredHashes() throws IOException {
+        EmployeeDirectoryService.Snapshot snapshot = directory.update(employees(1, 20), "employees.xlsx");
+        String id = snapshot.getVersion().getId();
+        Path hashFile = fileStorage.getHashPath(id);
+        assertEquals(snapshot.getVersion().getSha256(), Files.readString(hashFile));
+
+        // Proves the listing reads the hash file instead of hashing the workbook again
+        String marker = "ab".repeat(32);
+        Files.writeString(hashFile, marker);
+        assertEquals(marker, fileStorage.findEmployeeVersion(id).orElseThrow().getSha256());
+
+        // Versions stored before hash files existed are hashed once and get one
+        Files.delete(hashFile);
+        assertEquals(snapshot.getVersion().getSha256(), fileStorage.listEmployeeVersions().get(0).getSha256());
+        assertEquals(snapshot.getVersion().getSha256(), Files.readString(hashFile));
+    }
+
+    private static void appendRows(Path source, Path target, String[]... rows) throws IOException {
+        try (InputStream in = Files.newInputStream(source); Workbook workbook = new XSSFWorkbook(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (String[] values : rows) {
+                Row row = sheet.createRow(sheet.getLastRowNum() + 1);
+                for (int c = 0; c < values.length; c++) {
+                    row.createCell(c).setCellValue(values[c]);
+                }
+                row.createCell(4).setCellValue(40);
+            }
+            try (OutputStream out = Files.newOutputStream(target)) {
+                workbook.write(out);
+            }
+        }
+    }
+
+    private Path employees(int seed, int count) throws IOException {
+        Path file = tempDir.resolve("employees-" + seed + ".xlsx");
+        new WorkbookGenerator(seed).writeEmployees(file, count);
+        return file;
+    }
+}
@@ -0,0 +1,98 @@
+package org.hrprocessor;
+
+import org.hrprocessor.service.FileDownloadService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileDownloadServiceTest {
+
+    private static final String ETAG = "\"abc123\"";
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private final FileDownloadService download = new FileDownloadService();
+
+    @Test
+    void testServesWholeFileWithValidators() throws IOException {
+        MockHttpServletResponse response = send(get());
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals(ETAG, response.getHeader("ETag"));
+        assertEquals(LAST_MODIFIED, response.getDateHeader("Last-Modified"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertTrue(response.getHeader("Content-Disposition").contains("employees.xlsx"));
+    }
+
+    @Test
+    void testNotModifiedWhenEtagMatches() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader("If-None-Match", ETAG);
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+
+        MockHttpServletRequest changed = get();
+        changed.addHeader("If-None-Match", "\"other\"");
+        assertEquals(200, send(changed).getStatus());
+    }
+
+    @Test
+    void testSingleRange() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+
+        MockHttpServletRequest suffix = get();
+        suffix.addHeader("Range", "bytes=-3");
+        assertEquals("789", send(suffix).getContentAsString());
+
+        MockHttpServletRequest unsatisfiable = get();
+        unsatisfiable.addHeader("Range", "bytes=20-30");
+        MockHttpServletResponse rejected = send(unsatisfiable);
+        assertEquals(416, rejected.getStatus());
+        assertEquals("bytes */10", rejected.getHeader("Content-Range"));
+    }
+
+    @Test
+    void testStaleIfRangeGetsWholeFile() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=2-5");
+        request.addHeader("If-Range", "\"previous\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    private MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/hr-processor/current-employees");
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        Path file = tempDir.resolve("v1.xlsx");
+        Files.write(file, "0123456789".getBytes(StandardCharsets.US_ASCII));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        download.send(file, ETAG, LAST_MODIFIED, "employees.xlsx", request, response);
+        return response;
+    }
+}
@@ -0,0 +1,101 @@
+package org.hrprocessor;
+
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.service.AbsenceProcessorService;
+import org.hrprocessor.service.ExcelReaderService;
+import org.hrprocessor.service.StreamingExcelReaderService;
+import org.hrprocessor.testdata.WorkbookGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HRProcessorAppTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    void testProcessesInputsAndPrintsSummary() throws IOException {
+        Path employees = tempDir.resolve("employees.xlsx");
+        Path first = tempDir.resolve("first.xlsx");
+        Path second = tempDir.resolve("second.xlsx");
+        Path output = tempDir.resolve("out").resolve("result.csv");
+        WorkbookGenerator generator = new WorkbookGenerator(3);
+        generator.writeEmployees(employees, 100);
+        generator.writeAbsences(first, 200, 100);
+        generator.writeAbsences(second, 100, 100);
+
+        int exitCode = run("--input", first + "," + second, "--employees", employees.toString(),
+                "--output", output.toString(), "--format", "csv", "--threads", "2");
+
+        ExcelReaderService reader = new ExcelReaderService();
+        AbsenceProcessorService processor = new AbsenceProcessorService();
+        List<Employee> employeeList = reader.readEmployees(employees.toString());
+        int expected = processor.processAbsences(reader.readAbsences(first.toString()), employeeList).size()
+                + processor.processAbsences(reader.readAbsences(second.toString()), employeeList).size();
+        List<String> lines = Files.readAllLines(output);
+
+        assertEquals(HRProcessorApp.EXIT_OK, exitCode, err.toString());
+        assertEquals("USER-ID,email,absent from,absent until", lines.get(0));
+        assertEquals(expected, lines.size() - 1, "Both inputs should be merged");
+        assertTrue(Files.exists(tempDir.resolve("out").resolve("result_summary.csv")));
+        assertTrue(out.toString().contains("absences/s"));
+    }
+
+    @Test
+    void testReadsSelectedSheetsOfSingleInput() throws IOException {
+        Path employees = tempDir.resolve("employees.xlsx");
+        Path absences = tempDir.resolve("sheets.xlsx");
+        Path allSheets = tempDir.resolve("all.csv");
+        Path firstSheet = tempDir.resolve("first.csv");
+        WorkbookGenerator generator = new WorkbookGenerator(5);
+        generator.writeEmployees(employees, 100);
+        generator.writeAbsences(absences, 300, 100, 3);
+
+        int exitCode = run("--input", absences.toString(), "--employees", employees.toString(),
+                "--output", allSheets.toString(), "--format", "csv", "--threads", "3", "--sheets", "*");
+        run("--input", absences.toString(), "--employees", employees.toString(),
+                "--output", firstSheet.toString(), "--format", "csv", "--threads", "3");
+
+        AbsenceProcessorService processor = new AbsenceProcessorService();
+        List<Employee> employeeList = new ExcelReaderService().readEmployees(employees.toString());
+        int expected = processor.processAbsences(
+                new StreamingExcelReaderService().readAbsences(absences.toString(), List.of("*")), employeeList).size();
+
+        assertEquals(HRProcessorApp.EXIT_OK, exitCode, err.toString());
+        assertEquals(expected, Files.readAllLines(allSheets).size() - 1);
+        assertTrue(Files.readAllLines(firstSheet).size() < Files.readAllLines(allSheets).size(),
+                "Without --sheets only the first sheet should be read");
+    }
+
+    @Test
+    void testUsageErrorExitCode() {
+        assertEquals(HRProcessorApp.EXIT_USAGE, run("--format", "pdf"));
+        assertEquals(HRProcessorApp.EXIT_USAGE, run("--input"));
+        assertTrue(err.toString().contains("Usage"));
+    }
+
+    @Test
+    void testMissingInputFails() {
+        int exitCode = run("--input", tempDir.resolve("missing.xlsx").toString(),
+                "--employees", tempDir.resolve("employees.xlsx").toString());
+
+        assertEquals(HRProcessorApp.EXIT_FAILED, exitCode);
+        assertTrue(err.toString().contains("not found"));
+    }
+
+    private int run(String... args) {
+        return HRProcessorApp.run(args, new PrintStream(out, true), new PrintStream(err, true));
+    }
+}
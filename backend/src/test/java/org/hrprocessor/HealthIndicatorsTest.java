@@ -0,0 +1,99 @@
+package org.hrprocessor;
+
+import org.hrprocessor.service.AdmissionControlService;
+import org.hrprocessor.service.HeapHealthIndicator;
+import org.hrprocessor.service.ProcessingExecutor;
+import org.hrprocessor.service.ProcessingHealthIndicator;
+import org.hrprocessor.service.WarmupHealthIndicator;
+import org.hrprocessor.service.WarmupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HealthIndicatorsTest {
+
+    @Test
+    void testNotReadyBeforeWarmup() {
+        Health health = new WarmupHealthIndicator(new WarmupService(true, false)).health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals(false, health.getDetails().get("warmedUp"));
+    }
+
+    @Test
+    void testProcessingOutOfServiceWhenQueueIsFull() throws InterruptedException {
+        ProcessingExecutor executor = new ProcessingExecutor(1, 1);
+        ProcessingHealthIndicator indicator = new ProcessingHealthIndicator(executor,
+                new AdmissionControlService(64, 2, 60, 4096, 0, 30));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertEquals(Status.UP, indicator.health().getStatus());
+
+            executor.submit(() -> {
+                started.countDown();
+                release.await();
+                return null;
+            });
+            started.await();
+            executor.submit(() -> null);
+
+            Health health = indicator.health();
+            assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+            assertEquals(1, health.getDetails().get("queueDepth"));
+            assertEquals(1, health.getDetails().get("queueCapacity"));
+            assertEquals(64, health.getDetails().get("memoryBudgetMb"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testHeapHeadroomThreshold() {
+        assertEquals(Status.UP, new HeapHealthIndicator(ManagementFactory.getMemoryMXBean(),
+                ManagementFactory.getMemoryPoolMXBeans(), 0).health().getStatus());
+        assertEquals(Status.OUT_OF_SERVICE, new HeapHealthIndicator(ManagementFactory.getMemoryMXBean(),
+                ManagementFactory.getMemoryPoolMXBeans(), Integer.MAX_VALUE).health().getStatus());
+    }
+
+    @Test
+    void testHeapHeadroomCountsOnlyWhatSurvivedCollection() {
+        long mb = 1024L * 1024L;
+        MemoryMXBean memory = stub(MemoryMXBean.class, Map.of(
+                "getHeapMemoryUsage", new MemoryUsage(0, 500 * mb, 512 * mb, 512 * mb)));
+        MemoryPoolMXBean eden = stub(MemoryPoolMXBean.class, Map.of(
+                "getType", MemoryType.HEAP, "getCollectionUsage", new MemoryUsage(0, 0, 128 * mb, -1)));
+        MemoryPoolMXBean old = stub(MemoryPoolMXBean.class, Map.of(
+                "getType", MemoryType.HEAP, "getCollectionUsage", new MemoryUsage(0, 100 * mb, 384 * mb, -1)));
+        MemoryPoolMXBean metaspace = stub(MemoryPoolMXBean.class, Map.of(
+                "getType", MemoryType.NON_HEAP, "getCollectionUsage", new MemoryUsage(0, 400 * mb, 400 * mb, -1)));
+
+        Health health = new HeapHealthIndicator(memory, List.of(eden, old, metaspace), 64).health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(500L, health.getDetails().get("usedMb"));
+        assertEquals(100L, health.getDetails().get("liveMb"));
+        assertEquals(412L, health.getDetails().get("headroomMb"));
+
+        assertEquals(Status.OUT_OF_SERVICE,
+                new HeapHealthIndicator(memory, List.of(metaspace), 64).health().getStatus());
+    }
+
+    /** An MXBean answering the given getters and null for the rest. */
+    private static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answers.get(method.getName())));
+    }
+}
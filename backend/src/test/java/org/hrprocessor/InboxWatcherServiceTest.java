@@ -0,0 +1,136 @@
+package org.hrprocessor;
+
+import org.hrprocessor.service.AbsenceCalendarService;
+import org.hrprocessor.service.AbsenceHistoryService;
+import org.hrprocessor.service.AdmissionControlService;
+import org.hrprocessor.service.EmployeeDirectoryService;
+import org.hrprocessor.service.FileStorageService;
+import org.hrprocessor.service.InboxWatcherService;
+import org.hrprocessor.testdata.WorkbookGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InboxWatcherServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path inbox;
+    private Path output;
+    private EmployeeDirectoryService employeeDirectory;
+    private InboxWatcherService watcher;
+
+    @BeforeEach
+    void setUp() {
+        inbox = tempDir.resolve("input").resolve("inbox");
+        output = tempDir.resolve("output");
+        employeeDirectory = new EmployeeDirectoryService(new FileStorageService(tempDir.resolve("input")), 3, 0.5, 16);
+        AdmissionControlService admissionControl = new AdmissionControlService(0, 2, 60, 4096, 1000, 30);
+        watcher = new InboxWatcherService(true, inbox, output, 200, 1, employeeDirectory, admissionControl, new AbsenceCalendarService(),
+                new AbsenceHistoryService(false, tempDir.resolve("history"), 16));
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.stop();
+    }
+
+    @Test
+    void testDroppedFileIsProcessedAndArchived() throws Exception {
+        uploadEmployees();
+        watcher.start();
+
+        Path staged = tempDir.resolve("staging.xlsx");
+        new WorkbookGenerator(2).writeAbsences(staged, 50, 100);
+        Files.move(staged, inbox.resolve("north.xlsx"));
+
+        Path processed = inbox.resolveSibling("processed").resolve("north.xlsx");
+        awaitFile(processed);
+
+        assertFalse(Files.exists(inbox.resolve("north.xlsx")));
+        List<Path> outputs = list(output);
+        assertEquals(1, outputs.size());
+        assertTrue(outputs.get(0).getFileName().toString().startsWith("HR_RO_SMARTDISPO_ABSENCE_north_"));
+    }
+
+    @Test
+    void testFilePresentAtStartupIsPickedUp() throws Exception {
+        uploadEmployees();
+        Files.createDirectories(inbox);
+        new WorkbookGenerator(3).writeAbsences(inbox.resolve("startup.xlsx"), 20, 100);
+
+        watcher.start();
+
+        awaitFile(inbox.resolveSibling("processed").resolve("startup.xlsx"));
+        assertEquals(1, list(output).size());
+    }
+
+    @Test
+    void testIncompleteFileIsNotProcessedUntilComplete() throws Exception {
+        uploadEmployees();
+        watcher.start();
+
+        Path complete = tempDir.resolve("complete.xlsx");
+        new WorkbookGenerator(4).writeAbsences(complete, 50, 100);
+        byte[] bytes = Files.readAllBytes(complete);
+        Path dropped = inbox.resolve("partial.xlsx");
+        Files.write(dropped, Arrays.copyOf(bytes, bytes.length / 2));
+
+        Thread.sleep(1000);
+        assertTrue(Files.exists(dropped));
+        assertTrue(list(output).isEmpty());
+
+        Files.write(dropped, bytes);
+        awaitFile(inbox.resolveSibling("processed").resolve("partial.xlsx"));
+        assertEquals(1, list(output).size());
+    }
+
+    @Test
+    void testFailedFileIsMovedWithErrorReport() throws Exception {
+        watcher.start();
+
+        Path staged = tempDir.resolve("staging.xlsx");
+        new WorkbookGenerator(2).writeAbsences(staged, 10, 100);
+        Files.move(staged, inbox.resolve("orphan.xlsx"));
+
+        Path failed = inbox.resolveSibling("failed").resolve("orphan.xlsx");
+        awaitFile(failed.resolveSibling("orphan.xlsx.error.txt"));
+
+        assertTrue(Files.exists(failed));
+        assertTrue(Files.readString(failed.resolveSibling("orphan.xlsx.error.txt")).contains("employees"));
+        assertTrue(list(output).isEmpty());
+    }
+
+    private void uploadEmployees() throws Exception {
+        Path employees = tempDir.resolve("employees.xlsx");
+        new WorkbookGenerator(1).writeEmployees(employees, 100);
+        employeeDirectory.update(employees, "employees.xlsx");
+    }
+
+    private static void awaitFile(Path file) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (!Files.exists(file) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(Files.exists(file), "Expected " + file);
+    }
+
+    private static List<Path> list(Path directory) throws Exception {
+        if (!Files.exists(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> !file.getFileName().toString().startsWith(".")).toList();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.hrprocessor;
+
+import org.hrprocessor.model.Absence;
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.service.AbsenceProcessorService;
+import org.hrprocessor.service.EmployeeIndex;
+import org.hrprocessor.service.HeapEmployeeIndex;
+import org.hrprocessor.service.MappedEmployeeIndex;
+import org.hrprocessor.service.StreamingExcelReaderService;
+import org.hrprocessor.testdata.WorkbookGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedEmployeeIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSameLookupsAsHeapIndexOnGeneratedData() throws IOException {
+        WorkbookGenerator generator = new WorkbookGenerator(11).duplicateRatio(0.05).diacriticRatio(0.3);
+        Path employeesFile = tempDir.resolve("employees.xlsx");
+        generator.writeEmployees(employeesFile, 2000);
+        List<Employee> employees = new StreamingExcelReaderService().readEmployees(employeesFile.toString());
+
+        EmployeeIndex heap = new HeapEmployeeIndex(employees);
+        MappedEmployeeIndex mapped = build(employees);
+
+        assertEquals(heap.size(), mapped.size());
+        assertEquals(heap.distinctNameKeys(), mapped.distinctNameKeys());
+        for (int i = 0; i < 2500; i++) {
+            String firstName = generator.firstName(i);
+            String lastName = generator.lastName(i);
+            assertEquals(heap.find(firstName, lastName), mapped.find(firstName, lastName), firstName + " " + lastName);
+            assertEquals(heap.find(firstName.toUpperCase(), " " + lastName + "  "), mapped.find(firstName.toUpperCase(), " " + lastName + "  "));
+        }
+        for (int i = 0; i < employees.size(); i++) {
+            assertEquals(employees.get(i).toString(), mapped.get(i).toString());
+            assertEquals(employees.get(i).getWeeklyWorkingHours(), mapped.get(i).getWeeklyWorkingHours());
+            assertEquals(employees.get(i).getUserId(), mapped.getUserId(i));
+            assertEquals(employees.get(i).getEmail(), mapped.getEmail(i));
+            assertEquals(employees.get(i).getWeeklyWorkingHours(), mapped.getWeeklyWorkingHours(i));
+        }
+    }
+
+    @Test
+    void testNameKeyRulesMatchHeapIndex() throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        employees.add(employee("u1", "Ana", "Popescu"));
+        employees.add(employee("u2", "ȘTEFAN", "Ionescu"));
+        employees.add(employee("u3", "İlker", "Yılmaz"));
+        employees.add(employee("u4", "ΟΔΥΣΣΕΑΣ", "Παπαδόπουλος"));
+        employees.add(employee("u5", "Ana", "POPESCU"));
+        employees.add(employee("u6", "", "Solo"));
+
+        EmployeeIndex heap = new HeapEmployeeIndex(employees);
+        MappedEmployeeIndex mapped = build(employees);
+
+        String[][] lookups = {
+                {"ana", "popescu"}, {" Ana", "Popescu\t"}, {"Ștefan", "IONESCU"}, {"i̇lker", "yılmaz"}, {"İlker", "Yılmaz"},
+                {"οδυσσεας", "παπαδόπουλος"}, {"ΟΔΥΣΣΕΑΣ", "Παπαδόπουλος"}, {"", "Solo"}, {" ", "solo"},
+                {"Unknown", "Person"}, {null, "Popescu"}, {"Ana", null}
+        };
+        for (String[] lookup : lookups) {
+            assertEquals(heap.find(lookup[0], lookup[1]), mapped.find(lookup[0], lookup[1]), lookup[0] + " " + lookup[1]);
+        }
+        assertEquals(4, mapped.find("Ana", "Popescu"));
+        assertEquals(5, mapped.distinctNameKeys());
+    }
+
+    @Test
+    void testReopensFromFile() throws IOException {
+        List<Employee> employees = List.of(employee("u1", "Ana", "Popescu"), employee("u2", "Ion", "Ionescu"));
+        Path file = tempDir.resolve("reopen.idx");
+        try (MappedEmployeeIndex.Builder builder = MappedEmployeeIndex.builder(file)) {
+            for (Employee employee : employees) {
+                builder.add(employee);
+            }
+            builder.build();
+        }
+
+        MappedEmployeeIndex reopened = MappedEmployeeIndex.open(file);
+
+        assertEquals(2, reopened.size());
+        assertEquals(1, reopened.find("ion", "ionescu"));
+        assertEquals("u1", reopened.getUserId(reopened.find("ANA", "POPESCU")));
+        assertEquals(-1, reopened.find("Ana", "Ionescu"));
+    }
+
+    @Test
+    void testResultsForSameEmployeeShareStrings() throws IOException {
+        MappedEmployeeIndex mapped = build(List.of(employee("u1", "Ana", "Popescu"), employee("u2", "Ion", "Ionescu")));
+        List<Absence> absences = new ArrayList<>();
+        for (int day = 1; day <= 3; day++) {
+            absences.add(new Absence("Ana", "Popescu", LocalDate.of(2025, 9, day), LocalDate.of(2025, 9, day)));
+        }
+
+        List<AbsenceResult> results = new AbsenceProcessorService().processAbsences(absences, mapped);
+
+        assertEquals(3, results.size());
+        assertEquals("u1", results.get(0).getUserId());
+        assertSame(results.get(0).getUserId(), results.get(2).getUserId());
+        assertSame(results.get(0).getEmail(), results.get(1).getEmail());
+    }
+
+    @Test
+    void testEmptyIndex() throws IOException {
+        MappedEmployeeIndex mapped = build(List.of());
+
+        assertEquals(0, mapped.size());
+        assertEquals(-1, mapped.find("Ana", "Popescu"));
+    }
+
+    private MappedEmployeeIndex build(List<Employee> employees) throws IOException {
+        try (MappedEmployeeIndex.Builder builder = MappedEmployeeIndex.builder(tempDir.resolve("employees-" + employees.size() + ".idx"))) {
+            for (Employee employee : employees) {
+                builder.add(employee);
+            }
+            return builder.build();
+        }
+    }
+
+    private static Employee employee(String userId, String firstName, String lastName) {
+        Employee employee = new Employee();
+        employee.setUserId(userId);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmail(userId + "@example.com");
+        employee.setWeeklyWorkingHours(40);
+        return employee;
+    }
+}
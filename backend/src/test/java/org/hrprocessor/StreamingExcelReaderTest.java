@@ -0,0 +1,304 @@
+package org.hrprocessor;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.hrprocessor.model.Absence;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.service.AbsenceFilter;
+import org.hrprocessor.service.ExcelReaderService;
+import org.hrprocessor.service.StreamingExcelReaderService;
+import org.hrprocessor.testdata.WorkbookGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingExcelReaderTest {
+
+    private ExcelReaderService domReader;
+    private StreamingExcelReaderService streamingReader;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        domReader = new ExcelReaderService();
+        streamingReader = new StreamingExcelReaderService();
+    }
+
+    @Test
+    void testSameResultsAsDomReaderOnTestData() throws IOException {
+        Path employeesFile = copyResource("testdata/HR_RO_SMARTDISPO_WS.xlsx", "employees.xlsx");
+        Path absencesFile = copyResource("testdata/Lista absente HR Central - Test.xlsx", "absences.xlsx");
+
+        assertSameEmployees(domReader.readEmployees(employeesFile.toString()), streamingReader.readEmployees(employeesFile.toString()));
+        assertSameAbsences(domReader.readAbsences(absencesFile.toString()), streamingReader.readAbsences(absencesFile.toString()));
+    }
+
+    @Test
+    void testSameResultsAsDomReaderOnGeneratedData() throws IOException {
+        WorkbookGenerator generator = new WorkbookGenerator(5)
+                .diacriticRatio(0.3)
+                .invalidDateRatio(0.1)
+                .nonApprovedRatio(0.2)
+                .excludedTimeTypeRatio(0.3);
+        Path employeesFile = tempDir.resolve("employees.xlsx");
+        Path absencesFile = tempDir.resolve("absences.xlsx");
+        generator.writeEmployees(employeesFile, 300);
+        WorkbookGenerator.GenerationSummary summary = generator.writeAbsences(absencesFile, 1500, 300);
+
+        List<Absence> streamed = streamingReader.readAbsences(absencesFile.toString());
+
+        assertEquals(summary.valid, streamed.size());
+        assertSameEmployees(domReader.readEmployees(employeesFile.toString()), streamingReader.readEmployees(employeesFile.toString()));
+        assertSameAbsences(domReader.readAbsences(absencesFile.toString()), streamed);
+    }
+
+    @Test
+    void testRepeatedNamesShareOneInstance() throws IOException {
+        Path absencesFile = copyResource("testdata/Lista absente HR Central - Test.xlsx", "absences.xlsx");
+
+        for (List<Absence> absences : List.of(streamingReader.readAbsences(absencesFile.toString()), domReader.readAbsences(absencesFile.toString()))) {
+            Map<String, String> canonical = new HashMap<>();
+            int repeated = 0;
+            for (Absence absence : absences) {
+                String first = canonical.putIfAbsent(absence.getFirstName(), absence.getFirstName());
+                if (first != null) {
+                    assertSame(first, absence.getFirstName());
+                    repeated++;
+                }
+            }
+            assertTrue(repeated > 0);
+        }
+    }
+
+    @Test
+    void testReadsAbsencesFromStream() throws IOException {
+        Path absencesFile = tempDir.resolve("absences.xlsx");
+        new WorkbookGenerator(6).nonApprovedRatio(0.2).writeAbsences(absencesFile, 500, 100);
+
+        List<Absence> streamed;
+        try (InputStream in = Files.newInputStream(absencesFile)) {
+            streamed = streamingReader.readAbsences(in, "absences.xlsx");
+        }
+
+        assertSameAbsences(streamingReader.readAbsences(absencesFile.toString()), streamed);
+    }
+
+    @Test
+    void testReadsSelectedSheetsInParallel() throws IOException {
+        Path singleFile = tempDir.resolve("single.xlsx");
+        Path multiFile = tempDir.resolve("multi.xlsx");
+        WorkbookGenerator.GenerationSummary summary = new WorkbookGenerator(8).nonApprovedRatio(0.2)
+                .writeAbsences(multiFile, 900, 100, 3);
+        new WorkbookGenerator(8).nonApprovedRatio(0.2).writeAbsences(singleFile, 900, 100);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            StreamingExcelReaderService parallelReader = new StreamingExcelReaderService(executor);
+            List<Absence> all = parallelReader.readAbsences(multiFile.toString(), List.of("*"));
+
+            assertEquals(summary.valid, all.size());
+            assertSameAbsences(streamingReader.readAbsences(singleFile.toString()), all);
+            assertSameAbsences(streamingReader.readAbsences(multiFile.toString(), List.of("*")), all);
+
+            List<Absence> first = parallelReader.readAbsences(multiFile.toString());
+            List<Absence> selected = parallelReader.readAbsences(multiFile.toString(), List.of("sheet2", "3"));
+            assertEquals(all.size(), first.size() + selected.size());
+            assertSameAbsences(all.subList(first.size(), all.size()), selected);
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> parallelReader.readAbsences(multiFile.toString(), List.of("Sheet4")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBlankRowsAreSkippedLikeDomReader() throws IOException {
+        Path file = tempDir.resolve("blank-rows.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            Row header = sheet.createRow(2);
+            for (int c = 0; c < WorkbookGenerator.ABSENCE_HEADERS.length; c++) {
+                header.createCell(c).setCellValue(WorkbookGenerator.ABSENCE_HEADERS[c]);
+            }
+            CellStyle style = workbook.createCellStyle();
+            style.setWrapText(true);
+            Row whitespace = sheet.createRow(3);
+            whitespace.createCell(3).setCellValue("   ");
+            whitespace.createCell(16).setCellValue("\t");
+            sheet.createRow(4).createCell(8).setCellStyle(style);
+            Row data = sheet.createRow(5);
+            data.createCell(3).setCellValue("Ana");
+            data.createCell(5).setCellValue("Pop");
+            data.createCell(7).setCellValue("Annual Leave");
+            data.createCell(8).setCellValue("01.09.2025");
+            data.createCell(10).setCellValue("03.09.2025");
+            data.createCell(16).setCellValue("APPROVED");
+            Row numberOnly = sheet.createRow(6);
+            numberOnly.createCell(13).setCellValue(2);
+            numberOnly.createCell(16).setCellValue("APPROVED");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+
+        List<Absence> streamed = streamingReader.readAbsences(file.toString());
+
+        assertEquals(1, streamed.size());
+        assertSameAbsences(domReader.readAbsences(file.toString()), streamed);
+    }
+
+    @Test
+    void testConfiguredFilterIsAppliedByBothReaders() throws IOException {
+        Path absencesFile = tempDir.resolve("absences.xlsx");
+        WorkbookGenerator.GenerationSummary summary = new WorkbookGenerator(9)
+                .nonApprovedRatio(0.3)
+                .excludedTimeTypeRatio(0.4)
+                .writeAbsences(absencesFile, 800, 100);
+
+        AbsenceFilter.configure("approved, Pending ", "");
+        try {
+            List<Absence> streamed = streamingReader.readAbsences(absencesFile.toString());
+
+            assertEquals(summary.valid + summary.excluded, streamed.size());
+            assertSameAbsences(domReader.readAbsences(absencesFile.toString()), streamed);
+        } finally {
+            AbsenceFilter.configure(AbsenceFilter.DEFAULT_ACCEPTED_STATUSES, AbsenceFilter.DEFAULT_EXCLUDED_TIME_TYPES);
+        }
+        assertEquals(summary.valid, streamingReader.readAbsences(absencesFile.toString()).size());
+    }
+
+    @Test
+    void testDatesOfWorkbooksWith1904DateSystem() throws IOException {
+        Path file = tempDir.resolve("dates-1904.xlsx");
+        LocalDate start = LocalDate.now().minusDays(10);
+        LocalDate end = LocalDate.now().plusDays(20);
+        LocalDate base1904 = LocalDate.of(1904, 1, 1);
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            workbook.getCTWorkbook().getWorkbookPr().setDate1904(true);
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd.mm.yyyy"));
+            Sheet sheet = workbook.createSheet("Sheet1");
+            Row data = sheet.createRow(3);
+            data.createCell(3).setCellValue("Ana");
+            data.createCell(5).setCellValue("Pop");
+            data.createCell(7).setCellValue("Annual Leave");
+            // Raw serials as a Mac-origin export stores them: days since 1904-01-01
+            data.createCell(8).setCellValue(ChronoUnit.DAYS.between(base1904, start));
+            data.getCell(8).setCellStyle(dateStyle);
+            data.createCell(10).setCellValue(ChronoUnit.DAYS.between(base1904, end) + 0.5);
+            data.getCell(10).setCellStyle(dateStyle);
+            data.createCell(16).setCellValue("APPROVED");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+
+        for (List<Absence> absences : List.of(streamingReader.readAbsences(file.toString()), domReader.readAbsences(file.toString()))) {
+            assertEquals(1, absences.size());
+            assertEquals(start, absences.get(0).getStartDate());
+            assertEquals(end, absences.get(0).getEndDate());
+        }
+    }
+
+    @Test
+    void testExcelDatesDoNotDependOnTimeZone() throws IOException {
+        Path file = tempDir.resolve("dates.xlsx");
+        LocalDate start = LocalDate.now().minusDays(40);
+        LocalDate end = LocalDate.now().plusDays(300);
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("m/d/yyyy h:mm"));
+            Sheet sheet = workbook.createSheet("Sheet1");
+            Row data = sheet.createRow(3);
+            data.createCell(3).setCellValue("Ana");
+            data.createCell(5).setCellValue("Pop");
+            data.createCell(7).setCellValue("Annual Leave");
+            data.createCell(8).setCellValue(start.atTime(23, 59));
+            data.getCell(8).setCellStyle(dateStyle);
+            data.createCell(10).setCellValue(end.atStartOfDay());
+            data.getCell(10).setCellStyle(dateStyle);
+            data.createCell(16).setCellValue("APPROVED");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+
+        TimeZone original = TimeZone.getDefault();
+        try {
+            for (String zone : List.of("Pacific/Kiritimati", "Etc/GMT+12", "Europe/Bucharest")) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                for (List<Absence> absences : List.of(streamingReader.readAbsences(file.toString()), domReader.readAbsences(file.toString()))) {
+                    assertEquals(1, absences.size(), zone);
+                    assertEquals(start, absences.get(0).getStartDate(), zone);
+                    assertEquals(end, absences.get(0).getEndDate(), zone);
+                }
+            }
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    @Test
+    void testCorruptedStreamFails() {
+        InputStream in = new ByteArrayInputStream("This is not an Excel file".getBytes());
+
+        assertThrows(Exception.class, () -> streamingReader.readAbsences(in, "corrupt.xlsx"));
+    }
+
+    @Test
+    void testCorruptedFileFails() throws IOException {
+        Path corrupt = tempDir.resolve("corrupt.xlsx");
+        Files.write(corrupt, "This is not an Excel file".getBytes());
+
+        assertThrows(Exception.class, () -> streamingReader.readAbsences(corrupt.toString()));
+    }
+
+    private void assertSameEmployees(List<Employee> expected, List<Employee> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            assertEquals(expected.get(i).getWeeklyWorkingHours(), actual.get(i).getWeeklyWorkingHours());
+        }
+    }
+
+    private void assertSameAbsences(List<Absence> expected, List<Absence> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+    private Path copyResource(String resourcePath, String fileName) throws IOException {
+        Path target = tempDir.resolve(fileName);
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream(resourcePath)) {
+            if (inputStream == null) {
+                throw new IOException("Resource not found: " + resourcePath);
+            }
+            Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,24 @@
+package org.hrprocessor;
+
+import org.hrprocessor.service.WarmupService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmupServiceTest {
+
+    @Test
+    void testWarmUpRunsThePipeline() throws IOException {
+        WarmupService warmup = new WarmupService(true, false);
+        assertFalse(warmup.isWarmedUp());
+        assertEquals(-1, warmup.getWarmupMs());
+
+        warmup.warmUp();
+
+        assertTrue(warmup.getWarmupMs() >= 0);
+        assertTrue(warmup.getRowsRead() > 0);
+        assertTrue(warmup.getRowsMatched() > 0, "The warm-up rows should reach the matcher and the writers");
+    }
+}
@@ -0,0 +1,85 @@
+package org.hrprocessor;
+
+import org.hrprocessor.model.Absence;
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.service.AbsenceProcessorService;
+import org.hrprocessor.service.ExcelReaderService;
+import org.hrprocessor.testdata.WorkbookGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkbookGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testGeneratedWorkbooksMatchSummary() throws IOException {
+        WorkbookGenerator generator = new WorkbookGenerator(7)
+                .duplicateRatio(0.0)
+                .diacriticRatio(0.2)
+                .invalidDateRatio(0.05)
+                .nonApprovedRatio(0.1)
+                .excludedTimeTypeRatio(0.3)
+                .unknownEmployeeRatio(0.05);
+
+        Path employeesFile = tempDir.resolve("employees.xlsx");
+        Path absencesFile = tempDir.resolve("absences.xlsx");
+        WorkbookGenerator.GenerationSummary employeeSummary = generator.writeEmployees(employeesFile, 500);
+        WorkbookGenerator.GenerationSummary absenceSummary = generator.writeAbsences(absencesFile, 2000, 500);
+
+        ExcelReaderService reader = new ExcelReaderService();
+        List<Employee> employees = reader.readEmployees(employeesFile.toString());
+        List<Absence> absences = reader.readAbsences(absencesFile.toString());
+        List<AbsenceResult> results = new AbsenceProcessorService().processAbsences(absences, employees);
+
+        assertEquals(500, employeeSummary.rows);
+        assertEquals(500, employees.size());
+        assertEquals(2000, absenceSummary.rows);
+        assertTrue(absenceSummary.nonApproved > 0 && absenceSummary.excluded > 0 && absenceSummary.invalidDates > 0);
+        assertEquals(absenceSummary.valid, absences.size(), "Reader should accept exactly the valid generated rows");
+        assertEquals(absenceSummary.valid - absenceSummary.unknownEmployees, results.size(),
+                "Only absences of unknown employees should stay unmatched");
+        assertTrue(employees.stream().anyMatch(e -> e.getLastName().matches(".*[ăîșț].*")), "Some names should carry diacritics");
+    }
+
+    @Test
+    void testDuplicateNamesShareNameKeys() throws IOException {
+        WorkbookGenerator generator = new WorkbookGenerator(11).duplicateRatio(0.2);
+        Path employeesFile = tempDir.resolve("employees.xlsx");
+
+        WorkbookGenerator.GenerationSummary summary = generator.writeEmployees(employeesFile, 1000);
+        List<Employee> employees = new ExcelReaderService().readEmployees(employeesFile.toString());
+
+        long distinctNames = employees.stream()
+                .map(e -> e.getFirstName() + " " + e.getLastName())
+                .distinct()
+                .count();
+
+        assertTrue(summary.duplicates > 100, "Roughly a fifth of employees should be duplicates");
+        assertEquals(1000 - summary.duplicates, distinctNames);
+    }
+
+    @Test
+    void testCountsBeyondOneSheetAreRejectedBeforeWriting() {
+        WorkbookGenerator generator = new WorkbookGenerator(3);
+        Path employeesFile = tempDir.resolve("employees.xlsx");
+        Path absencesFile = tempDir.resolve("absences.xlsx");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.writeEmployees(employeesFile, WorkbookGenerator.MAX_SHEET_ROWS));
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.writeAbsences(absencesFile, 2_000_000, 100));
+        assertFalse(Files.exists(employeesFile));
+        assertFalse(Files.exists(absencesFile));
+        assertDoesNotThrow(() -> WorkbookGenerator.checkAbsenceCount(2_000_000, 2));
+    }
+}
@@ -0,0 +1,97 @@
+package org.hrprocessor;
+
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.service.AbsenceResultBatch;
+import org.hrprocessor.service.CsvWriterService;
+import org.hrprocessor.service.WorkingDayCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkingDayCalendarTest {
+
+    private final WorkingDayCalendar calendar = WorkingDayCalendar.current();
+
+    @Test
+    void testBundledRomanianHolidays() {
+        assertTrue(calendar.getHolidayCount() > 0);
+        // Monday 1 December 2025, Ziua Nationala
+        assertFalse(calendar.isWorkingDay(day(LocalDate.of(2025, 12, 1))));
+        // Orthodox Easter Monday 2026
+        assertFalse(calendar.isWorkingDay(day(LocalDate.of(2026, 4, 13))));
+        assertTrue(calendar.isWorkingDay(day(LocalDate.of(2025, 12, 2))));
+        assertFalse(calendar.isWorkingDay(day(LocalDate.of(2025, 12, 6))));
+        // December 2025: 23 weekdays, minus 1, 25 and 26 December
+        assertEquals(20, calendar.countWorkingDays(day(LocalDate.of(2025, 12, 1)), day(LocalDate.of(2025, 12, 31))));
+    }
+
+    @Test
+    void testCountsMatchDayByDayAcrossYears() {
+        List<LocalDate> holidays = List.of(LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 3));
+        WorkingDayCalendar custom = new WorkingDayCalendar(holidays);
+        Random random = new Random(7);
+        int base = day(LocalDate.of(2023, 6, 1));
+        for (int q = 0; q < 500; q++) {
+            int from = base + random.nextInt(1200);
+            int to = from + random.nextInt(800) - 5;
+            List<Integer> expected = new ArrayList<>();
+            for (int d = from; d <= to; d++) {
+                LocalDate date = LocalDate.ofEpochDay(d);
+                if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY && !holidays.contains(date)) {
+                    expected.add(d);
+                }
+            }
+            List<Integer> listed = new ArrayList<>();
+            custom.forEachWorkingDay(from, to, listed::add);
+            assertEquals(expected, listed);
+            assertEquals(expected.size(), custom.countWorkingDays(from, to));
+        }
+    }
+
+    @Test
+    void testLoadRejectsInvalidLines() throws IOException {
+        String file = "# company days off\n\n2025-08-14 bridge day\n";
+        WorkingDayCalendar loaded = WorkingDayCalendar.load(new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)), "test");
+        assertEquals(1, loaded.getHolidayCount());
+        assertFalse(loaded.isWorkingDay(day(LocalDate.of(2025, 8, 14))));
+
+        assertThrows(IllegalArgumentException.class, () -> WorkingDayCalendar.load(
+                new ByteArrayInputStream("14.08.2025\n".getBytes(StandardCharsets.UTF_8)), "test"));
+    }
+
+    @Test
+    void testExpandAndWorkingDaysColumn() throws IOException {
+        AbsenceResultBatch results = AbsenceResultBatch.of(List.of(
+                // Friday 28 November to Tuesday 2 December 2025, across a weekend and Ziua Nationala
+                new AbsenceResult("U1", "u1@example.com", LocalDate.of(2025, 11, 28), LocalDate.of(2025, 12, 2)),
+                new AbsenceResult("U2", "u2@example.com", null, null)));
+
+        AbsenceResultBatch expanded = calendar.expand(results);
+        assertEquals(2, expanded.size());
+        assertEquals(LocalDate.of(2025, 11, 28), expanded.get(0).getAbsentFrom());
+        assertEquals(LocalDate.of(2025, 11, 28), expanded.get(0).getAbsentUntil());
+        assertEquals(LocalDate.of(2025, 12, 2), expanded.get(1).getAbsentFrom());
+        assertEquals("U1", expanded.getUserId(1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CsvWriterService().writeAbsenceResults(results, calendar, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("USER-ID,email,absent from,absent until,working days", lines[0]);
+        assertEquals("U1,u1@example.com,28.11.2025,02.12.2025,2", lines[1]);
+        assertEquals("U2,u2@example.com,,,", lines[2]);
+    }
+
+    private static int day(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+}
@@ -0,0 +1,87 @@
+package org.hrprocessor.benchmark;
+
+import org.hrprocessor.model.Absence;
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.service.AbsenceProcessorService;
+import org.hrprocessor.service.EmployeeIndex;
+import org.hrprocessor.service.HeapEmployeeIndex;
+import org.hrprocessor.service.MappedEmployeeIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class AbsenceProcessorBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private final AbsenceProcessorService processor = new AbsenceProcessorService();
+
+    private List<Employee> employees;
+    private List<Absence> absences;
+    private EmployeeIndex heapIndex;
+    private EmployeeIndex mappedIndex;
+    private Path mappedIndexFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        employees = BenchmarkWorkbooks.employees(Math.max(1, rows / 10));
+        absences = BenchmarkWorkbooks.absences(rows, employees.size());
+        heapIndex = new HeapEmployeeIndex(employees);
+
+        mappedIndexFile = Files.createTempFile("employees", ".idx");
+        try (MappedEmployeeIndex.Builder builder = MappedEmployeeIndex.builder(mappedIndexFile)) {
+            for (Employee employee : employees) {
+                builder.add(employee);
+            }
+            mappedIndex = builder.build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        mappedIndex = null;
+        Files.deleteIfExists(mappedIndexFile);
+    }
+
+    @Benchmark
+    public List<AbsenceResult> processAbsences() {
+        return processor.processAbsences(absences, employees);
+    }
+
+    @Benchmark
+    public List<AbsenceResult> processAbsencesHeapIndex() {
+        return processor.processAbsences(absences, heapIndex);
+    }
+
+    @Benchmark
+    public List<AbsenceResult> processAbsencesMappedIndex() {
+        return processor.processAbsences(absences, mappedIndex);
+    }
+
+    @Benchmark
+    public void findMappedIndex(Blackhole blackhole) {
+        for (Absence absence : absences) {
+            blackhole.consume(mappedIndex.find(absence.getFirstName(), absence.getLastName()));
+        }
+    }
+
+    @Benchmark
+    public void createNameKey(Blackhole blackhole) {
+        for (Absence absence : absences) {
+            blackhole.consume(processor.createNameKey(absence.getFirstName(), absence.getLastName()));
+        }
+    }
+}
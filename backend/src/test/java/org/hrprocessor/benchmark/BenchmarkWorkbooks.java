@@ -0,0 +1,53 @@
+package org.hrprocessor.benchmark;
+
+import org.hrprocessor.model.Absence;
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.testdata.WorkbookGenerator;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkWorkbooks {
+
+    static final long SEED = 42;
+
+    private static final WorkbookGenerator GENERATOR = new WorkbookGenerator(SEED);
+
+    private BenchmarkWorkbooks() {
+    }
+
+    static WorkbookGenerator generator() {
+        return GENERATOR;
+    }
+
+    static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(new Employee(GENERATOR.userId(i), GENERATOR.lastName(i), GENERATOR.firstName(i), GENERATOR.email(i), 40));
+        }
+        return employees;
+    }
+
+    static List<Absence> absences(int count, int employeeCount) {
+        LocalDate base = LocalDate.now().withDayOfMonth(1);
+        List<Absence> absences = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int employee = (int) ((i * 7919L) % employeeCount);
+            LocalDate start = base.plusDays(i % 200);
+            absences.add(new Absence(GENERATOR.firstName(employee), GENERATOR.lastName(employee), start, start.plusDays(i % 5)));
+        }
+        return absences;
+    }
+
+    static List<AbsenceResult> results(int count) {
+        LocalDate base = LocalDate.now().withDayOfMonth(1);
+        List<AbsenceResult> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate start = base.plusDays(i % 200);
+            results.add(new AbsenceResult(GENERATOR.userId(i), GENERATOR.email(i), start, start.plusDays(i % 5)));
+        }
+        return results;
+    }
+}
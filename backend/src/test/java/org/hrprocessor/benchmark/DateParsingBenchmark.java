@@ -0,0 +1,73 @@
+package org.hrprocessor.benchmark;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.hrprocessor.service.ExcelReaderService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class DateParsingBenchmark {
+
+    private final ExcelReaderService reader = new ExcelReaderService();
+
+    private XSSFWorkbook workbook;
+    private Cell numericDateCell;
+    private Cell dottedStringCell;
+    private Cell isoStringCell;
+    private Cell isoDateTimeStringCell;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate date = LocalDate.now().withDayOfMonth(15);
+        workbook = new XSSFWorkbook();
+        Row row = workbook.createSheet("Sheet1").createRow(0);
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd.MM.yyyy"));
+
+        numericDateCell = row.createCell(0);
+        numericDateCell.setCellValue(date);
+        numericDateCell.setCellStyle(dateStyle);
+        dottedStringCell = row.createCell(1);
+        dottedStringCell.setCellValue(String.format("%02d.%02d.%d", date.getDayOfMonth(), date.getMonthValue(), date.getYear()));
+        isoStringCell = row.createCell(2);
+        isoStringCell.setCellValue(date.toString());
+        isoDateTimeStringCell = row.createCell(3);
+        isoDateTimeStringCell.setCellValue(date + "T00:00:00");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public LocalDate numericDateCell() {
+        return reader.parseDate(numericDateCell);
+    }
+
+    @Benchmark
+    public LocalDate dottedString() {
+        return reader.parseDate(dottedStringCell);
+    }
+
+    @Benchmark
+    public LocalDate isoString() {
+        return reader.parseDate(isoStringCell);
+    }
+
+    @Benchmark
+    public LocalDate isoDateTimeString() {
+        return reader.parseDate(isoDateTimeStringCell);
+    }
+}
@@ -0,0 +1,69 @@
+package org.hrprocessor.benchmark;
+
+import org.hrprocessor.model.Absence;
+import org.hrprocessor.model.Employee;
+import org.hrprocessor.service.ExcelReaderService;
+import org.hrprocessor.service.StreamingExcelReaderService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class ExcelReaderBenchmark {
+
+    // At 1M rows the DOM reader is expected to run out of the 4 GB heap; JMH then reports that run as failed
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private final ExcelReaderService domReader = new ExcelReaderService();
+    private final StreamingExcelReaderService streamingReader = new StreamingExcelReaderService();
+
+    private Path workDir;
+    private Path employeesFile;
+    private Path absencesFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("hr-benchmark");
+        employeesFile = workDir.resolve("employees.xlsx");
+        absencesFile = workDir.resolve("absences.xlsx");
+        BenchmarkWorkbooks.generator().writeEmployees(employeesFile, rows);
+        BenchmarkWorkbooks.generator().writeAbsences(absencesFile, rows, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(employeesFile);
+        Files.deleteIfExists(absencesFile);
+        Files.deleteIfExists(workDir);
+    }
+
+    @Benchmark
+    public List<Employee> readEmployeesDom() throws IOException {
+        return domReader.readEmployees(employeesFile.toString());
+    }
+
+    @Benchmark
+    public List<Absence> readAbsencesDom() throws IOException {
+        return domReader.readAbsences(absencesFile.toString());
+    }
+
+    @Benchmark
+    public List<Employee> readEmployeesStreaming() throws IOException {
+        return streamingReader.readEmployees(employeesFile.toString());
+    }
+
+    @Benchmark
+    public List<Absence> readAbsencesStreaming() throws IOException {
+        return streamingReader.readAbsences(absencesFile.toString());
+    }
+}
@@ -0,0 +1,48 @@
+package org.hrprocessor.benchmark;
+
+import org.hrprocessor.model.AbsenceResult;
+import org.hrprocessor.service.ExcelWriterService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlogback.configurationFile=logback-benchmark.xml"})
+public class ExcelWriterBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    @Param({"standard", "streaming"})
+    private String mode;
+
+    private ExcelWriterService writer;
+    private List<AbsenceResult> results;
+    private Path outputFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        writer = new ExcelWriterService("streaming".equals(mode) ? 0 : Integer.MAX_VALUE);
+        results = BenchmarkWorkbooks.results(rows);
+        outputFile = Files.createTempFile("hr-benchmark", ".xlsx");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(outputFile);
+    }
+
+    @Benchmark
+    public long writeAbsenceResults() throws IOException {
+        writer.writeAbsenceResults(results, outputFile.toString());
+        return Files.size(outputFile);
+    }
+}
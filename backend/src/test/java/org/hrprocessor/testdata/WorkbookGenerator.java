@@ -0,0 +1,430 @@
+package org.hrprocessor.testdata;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Generates HR Central style absence exports and matching SMARTDISPO employee masters of arbitrary size.
+ * Usable from tests and benchmarks, and from the command line:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.hrprocessor.testdata.WorkbookGenerator \
+ *     -Dexec.args="--employees 100000 --absences 1000000 --out target/generated"
+ * </pre>
+ * A sheet holds at most {@link #MAX_SHEET_ROWS} rows including its header, so the employee master, which the readers
+ * take from its first sheet only, is capped just below that; larger absence exports need several sheets.
+ */
+public class WorkbookGenerator {
+
+    public static final String[] ABSENCE_HEADERS = {"Person ID", "userId", "Payroll ID", "First Name", "Middle Name",
+            "Last Name", "Gender", "Time Type (Label)", "startDate", "startTime", "endDate", "endTime",
+            "AM or PM (Picklist Label)", "quantityInDays", "quantityInHours", "Paid or Unpaid (Picklist Label)",
+            "approvalStatus"};
+    public static final String[] EMPLOYEE_HEADERS = {"USER-ID", "last name", "first name", "Email", "Weekly working hours"};
+    public static final int MAX_SHEET_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private static final int EMPLOYEE_HEADER_ROWS = 1;
+    private static final int ABSENCE_HEADER_ROWS = 3;
+
+    private static final String[] FIRST_NAMES = {"Andrei", "Ana", "Alexandru", "Maria", "Mihai", "Elena", "Ion",
+            "Ioana", "Gabriel", "Cristina", "Vasile", "Andreea", "Florin", "Alina", "Dan", "Roxana", "Radu", "Diana",
+            "Stefan", "Laura", "Adrian", "Monica", "Bogdan", "Simona", "Catalin", "Irina", "Razvan", "Madalina",
+            "Sorin", "Oana", "Cosmin", "Raluca", "Marius", "Teodora", "Tudor", "Bianca", "Lucian", "Corina",
+            "Silviu", "Anca"};
+    private static final String[] LAST_NAMES = {"Popescu", "Ionescu", "Popa", "Pop", "Radu", "Dumitru", "Stan",
+            "Stoica", "Gheorghe", "Matei", "Ciobanu", "Rusu", "Munteanu", "Constantin", "Marin", "Serban", "Tudor",
+            "Dinu", "Florea", "Barbu", "Nistor", "Moldovan", "Lazar", "Toma", "Neagu", "Ene", "Cristea", "Stanciu",
+            "Preda", "Ursu", "Oprea", "Mocanu", "Vasile", "Sandu", "Petrescu", "Manole", "Tanase", "Avram",
+            "Suciu", "Draghici", "Cojocaru", "Mihai", "Sava", "Costache", "Voicu", "Andrei", "Nedelcu", "Ilie",
+            "Enache", "Rosu"};
+    private static final String[] SYLLABLES = {"ba", "ce", "di", "fo", "gu", "la", "me", "ni", "po", "ru", "sa",
+            "te", "vi", "zo", "ma", "ne"};
+    private static final String[] ABSENCE_TYPES = {"Annual Leave", "Annual Leave", "Annual Leave", "Sick Leave",
+            "Birthday Leave", "Unpaid Leave", "Training"};
+    private static final String[] EXCLUDED_TYPES = {"Working Time", "Break"};
+    private static final String[] ACCEPTED_STATUSES = {"APPROVED", "APPROVED", "APPROVED", "PENDING"};
+    private static final String[] REJECTED_STATUSES = {"REJECTED", "CANCELLED"};
+    private static final int[] WEEKLY_HOURS = {40, 40, 40, 40, 30, 20};
+
+    private final long seed;
+    private double duplicateRatio = 0.0;
+    private double diacriticRatio = 0.1;
+    private double invalidDateRatio = 0.0;
+    private double nonApprovedRatio = 0.1;
+    private double excludedTimeTypeRatio = 0.3;
+    private double unknownEmployeeRatio = 0.0;
+    private LocalDate baseDate = LocalDate.now().withDayOfMonth(1);
+
+    public WorkbookGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public WorkbookGenerator duplicateRatio(double duplicateRatio) {
+        this.duplicateRatio = duplicateRatio;
+        return this;
+    }
+
+    public WorkbookGenerator diacriticRatio(double diacriticRatio) {
+        this.diacriticRatio = diacriticRatio;
+        return this;
+    }
+
+    public WorkbookGenerator invalidDateRatio(double invalidDateRatio) {
+        this.invalidDateRatio = invalidDateRatio;
+        return this;
+    }
+
+    public WorkbookGenerator nonApprovedRatio(double nonApprovedRatio) {
+        this.nonApprovedRatio = nonApprovedRatio;
+        return this;
+    }
+
+    public WorkbookGenerator excludedTimeTypeRatio(double excludedTimeTypeRatio) {
+        this.excludedTimeTypeRatio = excludedTimeTypeRatio;
+        return this;
+    }
+
+    public WorkbookGenerator unknownEmployeeRatio(double unknownEmployeeRatio) {
+        this.unknownEmployeeRatio = unknownEmployeeRatio;
+        return this;
+    }
+
+    public WorkbookGenerator baseDate(LocalDate baseDate) {
+        this.baseDate = baseDate;
+        return this;
+    }
+
+    public String firstName(int ordinal) {
+        String name = FIRST_NAMES[ordinal % FIRST_NAMES.length];
+        return hasDiacritics(ordinal) ? withDiacritics(name) : name;
+    }
+
+    public String lastName(int ordinal) {
+        int combinations = FIRST_NAMES.length * LAST_NAMES.length;
+        String name = LAST_NAMES[(ordinal / FIRST_NAMES.length) % LAST_NAMES.length];
+        if (ordinal >= combinations) {
+            name = name + "-" + capitalize(syllables(ordinal / combinations));
+        }
+        return hasDiacritics(ordinal) ? withDiacritics(name) : name;
+    }
+
+    public String userId(int ordinal) {
+        return String.format("usr%07d", ordinal);
+    }
+
+    public String email(int ordinal) {
+        return userId(ordinal) + "@bertelsmann.de";
+    }
+
+    /** Rejects a master that does not fit the single sheet the readers take employees from. */
+    public static void checkEmployeeCount(int count) {
+        if (count > MAX_SHEET_ROWS - EMPLOYEE_HEADER_ROWS) {
+            throw new IllegalArgumentException("At most " + (MAX_SHEET_ROWS - EMPLOYEE_HEADER_ROWS)
+                    + " employees fit in one sheet, got " + count);
+        }
+    }
+
+    /** Rejects an export whose rows do not fit the given number of sheets. */
+    public static void checkAbsenceCount(int count, int sheets) {
+        int perSheet = (count + Math.max(1, sheets) - 1) / Math.max(1, sheets);
+        if (perSheet > MAX_SHEET_ROWS - ABSENCE_HEADER_ROWS) {
+            throw new IllegalArgumentException("At most " + (MAX_SHEET_ROWS - ABSENCE_HEADER_ROWS)
+                    + " absences fit in one sheet, got " + perSheet + " per sheet; use more sheets");
+        }
+    }
+
+    public GenerationSummary writeEmployees(Path file, int count) throws IOException {
+        checkEmployeeCount(count);
+        GenerationSummary summary = new GenerationSummary();
+        Random random = new Random(seed);
+
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000)) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            Row header = sheet.createRow(0);
+            for (int c = 0; c < EMPLOYEE_HEADERS.length; c++) {
+                header.createCell(c).setCellValue(EMPLOYEE_HEADERS[c]);
+            }
+
+            for (int i = 0; i < count; i++) {
+                int nameOrdinal = nameOrdinal(i);
+                if (nameOrdinal != i) {
+                    summary.duplicates++;
+                }
+
+                Row row = sheet.createRow(i + EMPLOYEE_HEADER_ROWS);
+                row.createCell(0).setCellValue(userId(i));
+                row.createCell(1).setCellValue(lastName(nameOrdinal));
+                row.createCell(2).setCellValue(firstName(nameOrdinal));
+                row.createCell(3).setCellValue(email(i));
+                row.createCell(4).setCellValue(WEEKLY_HOURS[random.nextInt(WEEKLY_HOURS.length)]);
+                summary.rows++;
+                summary.valid++;
+            }
+
+            write(workbook, file);
+        }
+        return summary;
+    }
+
+    public GenerationSummary writeAbsences(Path file, int count, int employeeCount) throws IOException {
+        return writeAbsences(file, count, employeeCount, 1);
+    }
+
+    /**
+     * Spreads {@code count} rows over {@code sheets} sheets named Sheet1..SheetN, in the same order the single-sheet
+     * variant would have produced them.
+     */
+    public GenerationSummary writeAbsences(Path file, int count, int employeeCount, int sheets) throws IOException {
+        checkAbsenceCount(count, sheets);
+        GenerationSummary summary = new GenerationSummary();
+        Random random = new Random(seed + 1);
+
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("m/d/yyyy"));
+
+            int perSheet = (count + sheets - 1) / Math.max(1, sheets);
+            for (int s = 0; s < Math.max(1, sheets); s++) {
+                int from = Math.min(count, s * perSheet);
+                int to = Math.min(count, from + perSheet);
+                writeAbsenceSheet(workbook.createSheet("Sheet" + (s + 1)), dateStyle, random, summary, from, to,
+                        employeeCount);
+            }
+
+            write(workbook, file);
+        }
+        return summary;
+    }
+
+    private void writeAbsenceSheet(Sheet sheet, CellStyle dateStyle, Random random, GenerationSummary summary,
+            int from, int to, int employeeCount) {
+        sheet.createRow(0).createCell(0).setCellValue("Exported to Excel on " + baseDate);
+        sheet.createRow(1);
+        Row header = sheet.createRow(2);
+        for (int c = 0; c < ABSENCE_HEADERS.length; c++) {
+            header.createCell(c).setCellValue(ABSENCE_HEADERS[c]);
+        }
+
+        for (int i = from; i < to; i++) {
+            boolean unknown = random.nextDouble() < unknownEmployeeRatio;
+            int employee = unknown ? employeeCount + random.nextInt(Math.max(1, employeeCount)) : random.nextInt(employeeCount);
+            int nameOrdinal = unknown ? employee : nameOrdinal(employee);
+            LocalDate start = baseDate.minusDays(60).plusDays(random.nextInt(240));
+            LocalDate end = start.plusDays(random.nextInt(10));
+
+            Row row = sheet.createRow(i - from + ABSENCE_HEADER_ROWS);
+            row.createCell(0).setCellValue(1000000 + employee);
+            row.createCell(1).setCellValue(userId(employee));
+            row.createCell(3).setCellValue(firstName(nameOrdinal));
+            row.createCell(5).setCellValue(lastName(nameOrdinal));
+            row.createCell(6).setCellValue(employee % 2 == 0 ? "M" : "F");
+            row.createCell(9).setCellValue("1/1/1970 12:00:00 AM");
+            row.createCell(11).setCellValue("1/1/1970 11:59:00 PM");
+            row.createCell(13).setCellValue((double) end.toEpochDay() - start.toEpochDay() + 1);
+
+            boolean accepted = random.nextDouble() >= nonApprovedRatio;
+            boolean excluded = random.nextDouble() < excludedTimeTypeRatio;
+            boolean invalid = random.nextDouble() < invalidDateRatio;
+
+            row.createCell(7).setCellValue(excluded
+                    ? EXCLUDED_TYPES[random.nextInt(EXCLUDED_TYPES.length)]
+                    : ABSENCE_TYPES[random.nextInt(ABSENCE_TYPES.length)]);
+            row.createCell(16).setCellValue(accepted
+                    ? ACCEPTED_STATUSES[random.nextInt(ACCEPTED_STATUSES.length)]
+                    : REJECTED_STATUSES[random.nextInt(REJECTED_STATUSES.length)]);
+
+            if (invalid) {
+                row.createCell(8).setCellValue(invalidDate(random, start));
+            } else {
+                row.createCell(8).setCellValue(start);
+                row.getCell(8).setCellStyle(dateStyle);
+            }
+            row.createCell(10).setCellValue(end);
+            row.getCell(10).setCellStyle(dateStyle);
+
+            summary.rows++;
+            if (!accepted) {
+                summary.nonApproved++;
+            } else if (excluded) {
+                summary.excluded++;
+            } else if (invalid) {
+                summary.invalidDates++;
+            } else {
+                summary.valid++;
+                if (unknown) {
+                    summary.unknownEmployees++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Employees whose name is deliberately shared with an earlier employee; derived from the ordinal alone so that
+     * absence rows can reference the same name without keeping the whole master in memory.
+     */
+    public int nameOrdinal(int ordinal) {
+        if (duplicateRatio <= 0) {
+            return ordinal;
+        }
+        while (ordinal > 0) {
+            Random random = ordinalRandom(ordinal, 1);
+            if (random.nextDouble() >= duplicateRatio) {
+                break;
+            }
+            ordinal = random.nextInt(ordinal);
+        }
+        return ordinal;
+    }
+
+    private boolean hasDiacritics(int ordinal) {
+        return diacriticRatio > 0 && ordinalRandom(ordinal, 2).nextDouble() < diacriticRatio;
+    }
+
+    private Random ordinalRandom(int ordinal, long salt) {
+        return new Random(seed ^ (ordinal * 0x9E3779B97F4A7C15L) ^ salt);
+    }
+
+    private String invalidDate(Random random, LocalDate date) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return "31.02." + date.getYear();
+            case 1:
+                return String.format("%02d/%02d/%d", date.getMonthValue(), date.getDayOfMonth(), date.getYear());
+            default:
+                return String.format("%02d.%02d.2%04d", date.getDayOfMonth(), date.getMonthValue(), date.getYear());
+        }
+    }
+
+    private static String withDiacritics(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            switch (c) {
+                case 's': sb.append('ș'); break;
+                case 'S': sb.append('Ș'); break;
+                case 't': sb.append('ț'); break;
+                case 'T': sb.append('Ț'); break;
+                case 'a': sb.append(i == name.length() - 1 ? 'ă' : 'a'); break;
+                case 'i': sb.append(i > 0 && i < name.length() - 1 ? 'î' : 'i'); break;
+                default: sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String syllables(int value) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append(SYLLABLES[value % SYLLABLES.length]);
+            value /= SYLLABLES.length;
+        } while (value > 0);
+        return sb.toString();
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static void write(SXSSFWorkbook workbook, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileOutputStream fos = new FileOutputStream(file.toFile())) {
+            workbook.write(fos);
+        }
+        workbook.dispose();
+    }
+
+    public static class GenerationSummary {
+        public int rows;
+        public int valid;
+        public int duplicates;
+        public int nonApproved;
+        public int excluded;
+        public int invalidDates;
+        public int unknownEmployees;
+
+        @Override
+        public String toString() {
+            return "GenerationSummary{" +
+                    "rows=" + rows +
+                    ", valid=" + valid +
+                    ", duplicates=" + duplicates +
+                    ", nonApproved=" + nonApproved +
+                    ", excluded=" + excluded +
+                    ", invalidDates=" + invalidDates +
+                    ", unknownEmployees=" + unknownEmployees +
+                    '}';
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int employees = 10_000;
+        int absences = 100_000;
+        int absenceSheets = 1;
+        long seed = 42;
+        Path out = Paths.get("target", "generated");
+        double duplicates = 0.0, diacritics = 0.1, invalidDates = 0.0, nonApproved = 0.1, excluded = 0.3, unknown = 0.0;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--employees": employees = Integer.parseInt(value); i++; break;
+                case "--absences": absences = Integer.parseInt(value); i++; break;
+                case "--absence-sheets": absenceSheets = Integer.parseInt(value); i++; break;
+                case "--seed": seed = Long.parseLong(value); i++; break;
+                case "--out": out = Paths.get(value); i++; break;
+                case "--duplicate-ratio": duplicates = Double.parseDouble(value); i++; break;
+                case "--diacritic-ratio": diacritics = Double.parseDouble(value); i++; break;
+                case "--invalid-date-ratio": invalidDates = Double.parseDouble(value); i++; break;
+                case "--non-approved-ratio": nonApproved = Double.parseDouble(value); i++; break;
+                case "--excluded-ratio": excluded = Double.parseDouble(value); i++; break;
+                case "--unknown-ratio": unknown = Double.parseDouble(value); i++; break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    usage();
+            }
+        }
+        try {
+            checkEmployeeCount(employees);
+            checkAbsenceCount(absences, absenceSheets);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            usage();
+        }
+
+        WorkbookGenerator generator = new WorkbookGenerator(seed)
+                .duplicateRatio(duplicates)
+                .diacriticRatio(diacritics)
+                .invalidDateRatio(invalidDates)
+                .nonApprovedRatio(nonApproved)
+                .excludedTimeTypeRatio(excluded)
+                .unknownEmployeeRatio(unknown);
+
+        long start = System.currentTimeMillis();
+        GenerationSummary employeeSummary = generator.writeEmployees(out.resolve("HR_RO_SMARTDISPO_WS.xlsx"), employees);
+        System.out.println("Employees: " + employeeSummary);
+        GenerationSummary absenceSummary = generator.writeAbsences(out.resolve("Lista absente HR Central.xlsx"), absences, employees,
+                absenceSheets);
+        System.out.println("Absences:  " + absenceSummary);
+        System.out.println("Written to " + out.toAbsolutePath() + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private static void usage() {
+        System.err.println("Usage: WorkbookGenerator [--employees N] [--absences N] [--absence-sheets N] [--seed N]"
+                + " [--out DIR] [--duplicate-ratio R] [--diacritic-ratio R] [--invalid-date-ratio R]"
+                + " [--non-approved-ratio R] [--excluded-ratio R] [--unknown-ratio R]");
+        System.exit(2);
+    }
+}
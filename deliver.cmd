@@ -3,7 +3,7 @@ REM === Print start time ===
 echo Build started at: %date% %time%
 
 REM === Set JAVA, MAVEN, and PROJECT_HOME variables ===
-set "JAVA_HOME=C:\Software\Java\jdk-17"
+set "JAVA_HOME=C:\Software\Java\jdk-21"
 set "MAVEN_HOME=C:\Software\Java\apache-maven-3.9.5"
 set "PROJECT_HOME=C:\work\2025-HR\hr-absence-processor"
 
@@ -3,7 +3,7 @@ REM === Check if java.exe is in PATH ===
 where java >nul 2>nul
 if errorlevel 1 (
     echo java.exe not found in PATH. Setting JAVA_HOME to default.
-    set "JAVA_HOME=C:\Software\Java\jdk-17"
+    set "JAVA_HOME=C:\Software\Java\jdk-21"
     set "PATH=%JAVA_HOME%\bin;%PATH%"
 ) else (
     echo java.exe found in PATH.
@@ -12,7 +12,7 @@ if errorlevel 1 (
 REM === Start the backend jar ===
 if exist hr-absence-processor.jar (
     echo Starting hr-absence-processor.jar ...
-    start "HR Absence Processor Backend" java -jar hr-absence-processor.jar
+    start "HR Absence Processor Backend" java -XX:+AutoCreateSharedArchive -XX:SharedArchiveFile=hr-absence-processor.jsa -jar hr-absence-processor.jar
 ) else (
     echo hr-absence-processor.jar not found!
     exit /b 1